@@ -0,0 +1,82 @@
+package benchmarks;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import simulation.EventSink;
+import simulation.SimulationRandom;
+import university.StaffMarket;
+
+/**
+ * Gives the benchmarks access to EcsSim, which lives in the unnamed package and so cannot be
+ * imported. The method handles are constant, so the JIT compiles the calls like direct calls.
+ */
+final class EcsSimAccess {
+    private static final MethodHandle CONSTRUCTOR;
+    private static final MethodHandle RUN;
+    private static final MethodHandle READ_STAFF_FILE;
+
+    static {
+        try {
+            Class<?> ecsSim = Class.forName("EcsSim");
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            CONSTRUCTOR = lookup.findConstructor(ecsSim, MethodType.methodType(void.class,
+                    int.class, StaffMarket.class, SimulationRandom.class, EventSink.class));
+            RUN = lookup.findVirtual(ecsSim, "run", MethodType.methodType(void.class, int.class));
+            READ_STAFF_FILE = lookup.findStatic(ecsSim, "readStaffFile",
+                    MethodType.methodType(ArrayList.class, File.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private EcsSimAccess() {
+    }
+
+    /**
+     * Creates a simulation without running it.
+     *
+     * @param funding     The initial funding of the university.
+     * @param staffMarket The candidates the university hires from.
+     * @param random      The random stream of the simulation.
+     * @param events      The sink receiving the events of the simulation.
+     * @return The EcsSim instance.
+     */
+    static Object newSimulation(int funding, StaffMarket staffMarket, SimulationRandom random, EventSink events) {
+        try {
+            return CONSTRUCTOR.invoke(funding, staffMarket, random, events);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Runs a simulation for the given number of years.
+     *
+     * @param simulation The EcsSim instance.
+     * @param years      The number of years to run.
+     */
+    static void run(Object simulation, int years) {
+        try {
+            RUN.invoke(simulation, years);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads a staff file with EcsSim.readStaffFile.
+     *
+     * @param staffFile The staff file.
+     * @return The staff of the file.
+     */
+    static ArrayList<?> readStaffFile(File staffFile) {
+        try {
+            return (ArrayList<?>) READ_STAFF_FILE.invoke(staffFile);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
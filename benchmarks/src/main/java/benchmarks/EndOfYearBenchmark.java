@@ -0,0 +1,52 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import university.University;
+
+/**
+ * Measures how the end of the year scales with the size of the roster, from a thousand to a million
+ * staff. The ageing, retirement, attrition and stamina replenishment of every employee are one pass
+ * over the roster, so the time should grow in proportion to the roster: ten times the staff, ten
+ * times the time. Every employee starts at full stamina and stays, so each roster size does the
+ * same work per employee.
+ *
+ * <p>The end of the year ages the roster, so every invocation runs on a university rebuilt
+ * beforehand, outside the measured time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndOfYearBenchmark {
+    private static final int ESTATE_SIZE = 100;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rosterSize;
+
+    private University university;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        university = Fixtures.university(ESTATE_SIZE, rosterSize);
+    }
+
+    @Benchmark
+    public int endOfYear() {
+        university.getEndOfYear();
+        return university.getNumberOfStaff();
+    }
+}
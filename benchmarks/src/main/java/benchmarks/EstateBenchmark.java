@@ -0,0 +1,47 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import university.Estate;
+
+/**
+ * Measures the estate queries made every year, over estates of growing size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstateBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int estateSize;
+
+    private Estate estate;
+
+    @Setup
+    public void setUp() {
+        estate = Fixtures.estate(estateSize);
+    }
+
+    @Benchmark
+    public int getNumberOfStudents() {
+        return estate.getNumberOfStudents();
+    }
+
+    @Benchmark
+    public float getMaintenanceCost() {
+        return estate.getMaintenanceCost();
+    }
+}
@@ -0,0 +1,105 @@
+package benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import simulation.EventSink;
+import simulation.SimulationRandom;
+import university.Estate;
+import university.Staff;
+import university.University;
+
+/**
+ * Builds the estates, universities and staff files the benchmarks run on. Everything is made from a
+ * fixed seed so that every benchmark run measures the same state.
+ */
+final class Fixtures {
+    static final long SEED = 42;
+    private static final String[] TYPES = {"Hall", "Lab", "Theatre", "Susu"};
+
+    private Fixtures() {
+    }
+
+    /**
+     * Creates an estate with the given number of facilities of every type, at mixed levels.
+     *
+     * @param size The number of facilities.
+     * @return The estate.
+     */
+    static Estate estate(int size) {
+        Estate estate = new Estate(new SimulationRandom(SEED), EventSink.SILENT);
+        addFacilities(size, (type, name) -> estate.addFacility(type, name));
+        return estate;
+    }
+
+    /**
+     * Creates a university with the given number of facilities and staff and a budget large enough
+     * to keep every year going.
+     *
+     * @param estateSize The number of facilities.
+     * @param rosterSize The number of staff.
+     * @return The university.
+     */
+    static University university(int estateSize, int rosterSize) {
+        University university = new University(Integer.MAX_VALUE, new SimulationRandom(SEED), EventSink.SILENT);
+        addFacilities(estateSize, university::build);
+        for (Staff staff : staff(rosterSize)) {
+            university.addStaff(staff);
+        }
+        return university;
+    }
+
+    /**
+     * Creates staff members with skills spread over the valid range.
+     *
+     * @param count The number of staff members.
+     * @return The staff members.
+     */
+    static List<Staff> staff(int count) {
+        List<Staff> staff = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            staff.add(new Staff("Staff " + i, i % 101));
+        }
+        return staff;
+    }
+
+    /**
+     * Writes a staff file with the given number of candidates to a temporary file.
+     *
+     * @param count The number of candidates.
+     * @return The path of the file, which is deleted when the JVM exits.
+     * @throws IOException If the file cannot be written.
+     */
+    static Path staffFile(int count) throws IOException {
+        Path path = Files.createTempFile("staff", ".txt");
+        path.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                writer.write("Candidate " + i + "(" + (i % 101) + ")");
+                writer.newLine();
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Adds facilities of every type in turn.
+     *
+     * @param size    The number of facilities.
+     * @param builder Builds one facility from its type and name.
+     */
+    private static void addFacilities(int size, FacilityBuilder builder) {
+        for (int i = 0; i < size; i++) {
+            builder.build(TYPES[i % TYPES.length], "Facility " + i);
+        }
+    }
+
+    /** Builds one facility of an estate or university. */
+    private interface FacilityBuilder {
+        void build(String type, String name);
+    }
+}
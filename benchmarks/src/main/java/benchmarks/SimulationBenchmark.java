@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.EventSink;
+import simulation.SimulationRandom;
+import university.ListStaffMarket;
+import university.Staff;
+
+/**
+ * Measures complete silent simulations of a number of years. Besides the time per simulation, the
+ * simulated years are counted, so JMH also reports years per second. With the GC profiler, the
+ * normalised allocation rate divided by the number of years gives the bytes allocated per year.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({"10", "50", "100"})
+    public int years;
+
+    @Param({"100", "100000"})
+    public int marketSize;
+
+    @Param({"1000"})
+    public int funding;
+
+    private List<Staff> staffFile;
+    private SimulationRandom seeds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        staffFile = Fixtures.staff(marketSize);
+        seeds = new SimulationRandom(Fixtures.SEED);
+    }
+
+    @Benchmark
+    public Object simulate(YearCounter counter) {
+        Object simulation = EcsSimAccess.newSimulation(
+                funding, new ListStaffMarket(staffFile), seeds.split(), EventSink.SILENT);
+        EcsSimAccess.run(simulation, years);
+        counter.years += years;
+        return simulation;
+    }
+
+    /** Counts the simulated years, reported by JMH as a rate next to the benchmark score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class YearCounter {
+        public long years;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            years = 0;
+        }
+    }
+}
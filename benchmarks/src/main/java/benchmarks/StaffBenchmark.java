@@ -0,0 +1,58 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import university.Staff;
+import university.University;
+
+/**
+ * Measures a single staff member instructing students, both before they are hired and while they
+ * are part of a university's roster. Stamina is replenished after every lesson so that it stays in
+ * range and the overworked message is never printed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StaffBenchmark {
+
+    @Param({"1", "20"})
+    public int students;
+
+    private Staff candidate;
+    private Staff employee;
+
+    @Setup
+    public void setUp() {
+        candidate = new Staff("Candidate", 50);
+        employee = new Staff("Employee", 50);
+        University university = Fixtures.university(0, 0);
+        university.addStaff(employee);
+    }
+
+    @Benchmark
+    public int instructCandidate() {
+        int reputation = candidate.instruct(students);
+        candidate.replenishStamina();
+        return reputation;
+    }
+
+    @Benchmark
+    public int instructEmployee() {
+        int reputation = employee.instruct(students);
+        employee.replenishStamina();
+        return reputation;
+    }
+}
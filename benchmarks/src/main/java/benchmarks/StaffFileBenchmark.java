@@ -0,0 +1,52 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import university.StaffFileReader;
+
+/**
+ * Measures reading staff files of growing size, both into a list with EcsSim.readStaffFile and
+ * streamed record by record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StaffFileBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int candidates;
+
+    private Path staffFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        staffFile = Fixtures.staffFile(candidates);
+    }
+
+    @Benchmark
+    public int readStaffFile() {
+        return EcsSimAccess.readStaffFile(staffFile.toFile()).size();
+    }
+
+    @Benchmark
+    public long streamStaffFile() throws IOException {
+        long[] totalSkill = new long[1];
+        StaffFileReader.read(staffFile, (name, skill) -> totalSkill[0] += skill);
+        return totalSkill[0];
+    }
+}
@@ -0,0 +1,70 @@
+package benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import simulation.EventSink;
+import simulation.SimulationRandom;
+import university.HumanResource;
+import university.RosterStorage;
+import university.Staff;
+
+/**
+ * Compares teaching a year's students with the whole roster in one batch against instructing the
+ * staff one object at a time. Every employee teaches the maximum of 20 students, which drains 20
+ * stamina that the following replenishment restores, so the state is the same on every invocation.
+ * Both roster storages are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeachingBenchmark {
+    private static final int STUDENTS_EACH = 20;
+
+    @Param({"10", "1000", "100000"})
+    public int rosterSize;
+
+    @Param({"HEAP", "OFF_HEAP"})
+    public RosterStorage storage;
+
+    private HumanResource humanResource;
+
+    @Setup
+    public void setUp() {
+        humanResource = new HumanResource(new SimulationRandom(Fixtures.SEED), EventSink.SILENT);
+        humanResource.setStorage(storage);
+        for (Staff staff : Fixtures.staff(rosterSize)) {
+            humanResource.addStaff(staff);
+        }
+    }
+
+    @Benchmark
+    public int batch() {
+        int reputation = humanResource.instruct(rosterSize * STUDENTS_EACH, STUDENTS_EACH);
+        humanResource.replenishStamina();
+        return reputation;
+    }
+
+    @Benchmark
+    public int perStaff() {
+        int reputation = 0;
+        for (Iterator<Staff> it = humanResource.getStaff(); it.hasNext(); ) {
+            reputation += it.next().instruct(STUDENTS_EACH);
+        }
+        humanResource.replenishStamina();
+        return reputation;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import university.University;
+
+/**
+ * Measures the three phases of a university year over growing estates and rosters. The end of the
+ * year retires and loses staff, so it runs on a fresh university every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniversityBenchmark {
+
+    @Param({"100", "10000"})
+    public int estateSize;
+
+    @Param({"1000", "100000"})
+    public int rosterSize;
+
+    private University university;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        university = Fixtures.university(estateSize, rosterSize);
+    }
+
+    @Benchmark
+    public float getStartOfYear() {
+        university.getStartOfYear();
+        return university.getBudget();
+    }
+
+    @Benchmark
+    public int getDuringYear() throws Exception {
+        university.getDuringYear();
+        return university.getReputation();
+    }
+
+    @Benchmark
+    public float getEndOfYear(EndOfYearState state) {
+        state.university.getEndOfYear();
+        return state.university.getBudget();
+    }
+
+    /** A university rebuilt before every end of year, as the end of year changes the roster. */
+    @State(Scope.Thread)
+    public static class EndOfYearState {
+        University university;
+
+        @Setup(Level.Invocation)
+        public void setUp(UniversityBenchmark benchmark) {
+            university = Fixtures.university(benchmark.estateSize, benchmark.rosterSize);
+        }
+    }
+}
@@ -1,9 +1,31 @@
 import facilities.Facility;
+import facilities.NameSupplier;
 import facilities.buildings.*;
+import university.FileStaffMarket;
+import university.Ledger;
+import university.ListStaffMarket;
+import university.RosterStorage;
 import university.Staff;
+import university.StaffFileReader;
+import university.StaffMarket;
+import simulation.AsyncTextEventSink;
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.EventJournal;
+import simulation.EventSink;
+import simulation.JournalReplay;
+import simulation.Metrics;
+import simulation.Phase;
+import simulation.RandomService;
+import simulation.SimulationRandom;
+import simulation.SimulationOptions;
+import simulation.TextEventSink;
+import university.Estate;
 import university.University;
+import university.YearSeriesWriter;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -19,174 +41,144 @@ import java.util.*;
  */
 public class EcsSim {
   University university;
-  ArrayList<Staff> staffMarket;
-  BufferedReader reader;
-  Stack<String> names = new Stack<>();
-  Stack<String> clubNames = new Stack<>();
+  StaffMarket staffMarket;
+  final NameSupplier names;
+  final NameSupplier clubNames;
+  SimulationRandom random;
+  EventSink events;
+  int year;
+  Path checkpointPath;
+  int checkpointInterval;
+  CheckpointOutput checkpoint;
+  Metrics metrics = Metrics.DISABLED;
+  YearSeriesWriter series;
+  boolean headToHead;
 
   /**
    * Reads staff information from a file and returns a list of Staff objects.
    *
    * @param staffFile The file containing staff information.
    * @return An ArrayList of Staff objects.
-   * @throws IOException If an I/O error occurs.
+   * @throws IOException If an I/O error occurs, or if a line is not of the form Name(skill).
    */
   public static ArrayList<Staff> readStaffFile(File staffFile) throws IOException {
     ArrayList<Staff> toReturn = new ArrayList<>();
     if (!staffFile.exists()) {
       throw new FileNotFoundException("File does not exist " + staffFile.getAbsolutePath());
     }
-    BufferedReader reader = new BufferedReader(new FileReader(staffFile));
-
-    while ((reader.ready())) {
-      String currentLine = reader.readLine();
-
-      String[] splitLine = currentLine.split("[(]");
-
-      int skill = Integer.parseInt(splitLine[1].replace(")", ""));
-      toReturn.add(new Staff(splitLine[0], skill));
-    }
+    StaffFileReader.read(staffFile.toPath(), (name, skill) -> toReturn.add(new Staff(name, skill)));
     return toReturn;
   }
 
+  /**
+   * Lists names from the last to the first, the order in which facilities have always been named.
+   *
+   * @param names The names
+   * @return The names in reverse order
+   */
+  private static List<String> lastFirst(String... names) {
+    List<String> reversed = new ArrayList<>(Arrays.asList(names));
+    Collections.reverse(reversed);
+    return reversed;
+  }
+
   /**
    * Determines the building type with the minimum student capacity among Labs, Halls, Theatres and
    * Susus. If the estate has no facilities, it defaults to "Theatre".
    *
-   * @return A string representing the building type with the minimum student capacity ("Lab",
-   *     "Hall", "Theatre", or "Susu").
+   * @return The building type with the minimum student capacity: LAB, HALL or THEATRE.
    */
-  private String minStudentsBuildingType() {
-    int labCap = 0;
-    int theatreCap = 0;
-    int hallCap = 0;
-
-    if (university.getEstate().getFacilities().length == 0) {
-      return "Lab";
+  private BuildingType minStudentsBuildingType() {
+    Estate estate = university.getEstate();
+    if (estate.getNumberOfFacilities() == 0) {
+      return BuildingType.LAB;
     }
 
-    for (Facility facility : university.getEstate().getFacilities()) {
-      if (facility instanceof Lab) {
-        labCap += ((Lab) facility).getCapacity();
-      } else if (facility instanceof Theatre) {
-        theatreCap += ((Theatre) facility).getCapacity();
-      } else if (facility instanceof Hall) {
-        hallCap += ((Hall) facility).getCapacity();
-      }
-    }
+    // The estate keeps the capacity of every type as a running total
+    int labCap = estate.getCapacity(BuildingType.LAB);
+    int theatreCap = estate.getCapacity(BuildingType.THEATRE);
+    int hallCap = estate.getCapacity(BuildingType.HALL);
 
     if (labCap < hallCap || labCap < theatreCap) {
-      return "Lab";
+      return BuildingType.LAB;
     } else if (hallCap < labCap || hallCap < theatreCap) {
-      return "Hall";
+      return BuildingType.HALL;
     } else if (theatreCap < hallCap || theatreCap < labCap) {
-      return "Theatre";
+      return BuildingType.THEATRE;
     } else {
-      return "Lab"; // Return default value
+      return BuildingType.LAB; // Return default value
     }
   }
 
   /**
-   * Finds and returns a Facility of the specified building type within the university's estate. The
-   * method iterates through the facilities, checking if they are instances of BuildingAbstract and
-   * have the specified building type.
+   * Finds and returns the Facility of the specified building type within the university's estate
+   * whose next upgrade is the cheapest. Buildings that are already at their maximum level are
+   * skipped. As no other building of the type is cheaper to upgrade, a new building is only built
+   * once no building of the type can be upgraded or no upgrade of the type is affordable.
    *
-   * @param buildingType The type of building to search for (e.g., "Lab", "Hall", "Theatre",
-   *     "Susu").
-   * @return A Facility object representing the first building of the specified type found, or null
-   *     if none is found.
+   * @param buildingType The type of building to search for.
+   * @return A Facility object representing the cheapest building of the specified type to upgrade,
+   *     or null if none can be upgraded.
    */
-  private Facility findBuildingOfType(String buildingType) {
-    for (Facility facility : university.getEstate().getFacilities()) {
-      if (facility instanceof BuildingAbstract
-          && ((BuildingAbstract) facility).getType().equals(buildingType)) {
-        return facility;
-      }
-    }
-    return null;
+  private Facility findBuildingOfType(BuildingType buildingType) {
+    return university.getEstate().getBestUpgrade(buildingType);
   }
 
   /**
    * Manages the building or upgrading of facilities based on the university's budget, maintenance
    * cost, and total salary. It prioritizes upgrading existing facilities over building new ones and
-   * considers the minimum capacity building type to make decisions.
+   * considers the minimum capacity building type to make decisions. Every amount is compared
+   * exactly, in cents.
    *
    * @throws Exception If there is an issue during the upgrade process.
    */
   public void buildOrUpgrade() throws Exception {
-    float maintenanceCost = university.getEstate().getMaintenanceCost();
-    float totalSalary = university.getTotalSalary();
+    long budget = university.getBudgetCents();
+    long maintenanceCost = university.getEstate().getMaintenanceCostCents();
+    long totalSalary = university.getTotalSalaryCents();
 
-    if (university.getBudget() > maintenanceCost && university.getBudget() > totalSalary) {
-      String buildingTypeToUpgrade = minStudentsBuildingType();
+    if (budget > maintenanceCost && budget > totalSalary) {
+      BuildingType buildingTypeToUpgrade = minStudentsBuildingType();
       Facility facilityToUpgrade = findBuildingOfType(buildingTypeToUpgrade);
 
+      long upgradeCost =
+          facilityToUpgrade != null
+              ? (long) ((BuildingAbstract) facilityToUpgrade).getUpgradeCost() * Ledger.CENTS
+              : 0;
       if (facilityToUpgrade != null
           && ((BuildingAbstract) facilityToUpgrade).getUpgradeCost() != -1
-          && university.getBudget() > ((BuildingAbstract) facilityToUpgrade).getUpgradeCost()) {
+          && budget > upgradeCost) {
 
-        if (university.getBudget() > ((BuildingAbstract) facilityToUpgrade).getUpgradeCost()
-            && university.getBudget() > maintenanceCost) {
+        if (budget > upgradeCost && budget > maintenanceCost) {
           university.upgrade((BuildingAbstract) facilityToUpgrade);
-          System.out.println(
-              facilityToUpgrade.getName()
-                  + " of type: "
-                  + ((Building) facilityToUpgrade).getType()
-                  + " has been upgraded to: "
-                  + ((Building) facilityToUpgrade).getLevel());
         }
       }
 
-      else if (university.getBudget() > maintenanceCost && university.getBudget() > totalSalary) {
-        Facility newFacility = university.build(buildingTypeToUpgrade, names.pop());
-        if (newFacility != null) {
-          System.out.println(
-              "Built new facility: "
-                  + newFacility.getName()
-                  + " of type: "
-                  + ((Building) newFacility).getType());
-        }
+      else if (budget > maintenanceCost && budget > totalSalary) {
+        university.build(buildingTypeToUpgrade, names.next());
       }
     }
   }
 
   /**
    * Simulates actions for SUSU clubs, including generating random student participation,
-   * competition outcomes, budget and reputation adjustments, and club building.
+   * competition outcomes, budget and reputation adjustments, and club building. The season is
+   * played by the league table of the estate in one pass, see {@link SusuLeague#playSeason}, and
+   * then every club that competed founds a new club until there are five.
    */
   public void susuClubAction() {
-    float budget = university.getBudget();
-    float reputation = university.getReputation();
-    Random random = new Random();
+    SusuLeague league = university.getEstate().getSusuLeague();
     double randomFraction = random.nextDouble();
     int numberOfStudents = (int) (university.getEstate().getNumberOfStudents() * randomFraction);
+    int clubs = league.size();
+    for (int i = 0; i < clubs; i++) {
+      league.getClub(i).joinStudents(numberOfStudents);
+    }
 
-    for (Susu susuClubs : university.getEstate().getSusuClubs()) {
-      susuClubs.joinStudents(numberOfStudents);
-
-      boolean wonCompetition = susuClubs.compete();
-      boolean upgradeLeague = susuClubs.upgradeLeague();
-
-      if (susuClubs != null) {
-        if (wonCompetition && upgradeLeague) {
-          System.out.println("The club " + susuClubs.getName() + " has won their competition");
-        } else {
-          System.out.println("The club " + susuClubs.getName() + " has lost their competition");
-          budget -= 10;
-          reputation -= 10;
-        }
-
-        if (wonCompetition && susuClubs.getLeagueLevel() > 1) {
-          budget += 50;
-          reputation += 50;
-        }
+    university.addClubSeason(league.playSeason(headToHead, events));
 
-        if (!clubNames.isEmpty() && university.getEstate().getSusuClubs().length < 5) {
-          university.build("SUSU", clubNames.pop());
-        }
-      } else {
-        System.out.println("SUSU facility not found.");
-      }
+    for (int i = 0; i < clubs && league.size() < 5; i++) {
+      university.build(BuildingType.SUSU, clubNames.next());
     }
   }
 
@@ -198,35 +190,180 @@ public class EcsSim {
    * @throws Exception If there is an issue during the simulation.
    */
   public void simulate() throws Exception {
-    System.out.println("Start of year budget: " + university.getBudget());
-
-    if (university.getEstate().getFacilities().length == 0) {
-      university.build("Lab", names.pop());
-      university.build("Theatre", names.pop());
-      university.build("Hall", names.pop());
-      university.build("Susu", clubNames.pop());
-      university.addStaff(staffMarket.get(0));
-      staffMarket.remove(0);
+    year++;
+    events.yearStarted(year, university.getBudgetCents());
+
+    if (university.getEstate().getNumberOfFacilities() == 0) {
+      university.build(BuildingType.LAB, names.next());
+      university.build(BuildingType.THEATRE, names.next());
+      university.build(BuildingType.HALL, names.next());
+      university.build(BuildingType.SUSU, clubNames.next());
+      Staff candidate = staffMarket.poll();
+      if (candidate != null) {
+        university.addStaff(candidate);
+      }
     } else {
-      if (!staffMarket.isEmpty()
-          && university.getBudget() > university.getEstate().getMaintenanceCost()
-          && university.getBudget() > university.getTotalSalary()) {
-        university.addStaff(staffMarket.get(0));
-        staffMarket.remove(0);
+      long start = metrics.start();
+      if (university.getBudgetCents() > university.getEstate().getMaintenanceCostCents()
+          && university.getBudgetCents() > university.getTotalSalaryCents()) {
+        // Claimed in one step, so a market shared with other universities can't run dry in between
+        Staff candidate = staffMarket.poll();
+        if (candidate != null) {
+          university.addStaff(candidate);
+        }
       }
-      if ((university.getBudget() > university.getEstate().getMaintenanceCost())
-          && university.getBudget() > 100) {
+      metrics.stop(Phase.HIRING, start);
+
+      start = metrics.start();
+      if ((university.getBudgetCents() > university.getEstate().getMaintenanceCostCents())
+          && university.getBudgetCents() > 100L * Ledger.CENTS) {
         buildOrUpgrade();
       }
+      metrics.stop(Phase.BUILD_OR_UPGRADE, start);
+
+      start = metrics.start();
       university.getStartOfYear();
-      System.out.println("Number of staff: " + university.getNumberOfStaff());
+      events.staffCounted(university.getNumberOfStaff());
+      metrics.stop(Phase.START_OF_YEAR, start);
 
+      start = metrics.start();
       university.getDuringYear();
+      metrics.stop(Phase.STAFF_STUDENT_RATIO, start);
+
+      start = metrics.start();
       susuClubAction();
+      metrics.stop(Phase.SUSU_CLUB_ACTION, start);
     }
 
     // Print the end-of-year summary after the initial setup
+    long start = metrics.start();
     university.getEndOfYear();
+    metrics.stop(Phase.END_OF_YEAR, start);
+  }
+
+  /**
+   * Runs the simulation for the given number of years, following on from any years already run.
+   *
+   * @param years The number of years the simulator should run for
+   * @throws Exception If there is an issue during the simulation.
+   */
+  public void run(int years) throws Exception {
+    for (int i = 1; i <= years; i++) {
+      simulate();
+      if (series != null) {
+        series.record(year, university);
+      }
+      if (checkpointPath != null && year % checkpointInterval == 0) {
+        writeCheckpoint(checkpointPath);
+      }
+    }
+  }
+
+  /**
+   * Sets whether the SUSU clubs play head to head within their leagues, rather than each competing
+   * on its own, see {@link SusuLeague#playSeason}.
+   *
+   * @param headToHead True for matches within each league, false for independent competitions.
+   */
+  public void setHeadToHead(boolean headToHead) {
+    this.headToHead = headToHead;
+  }
+
+  /**
+   * Makes the simulation write a checkpoint to the given file every few years while it runs.
+   *
+   * @param path The checkpoint file, which is replaced by each new checkpoint
+   * @param interval The number of years between checkpoints
+   */
+  public void setCheckpoints(Path path, int interval) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("Checkpoint interval " + interval + " was <= 0");
+    }
+    this.checkpointPath = path;
+    this.checkpointInterval = interval;
+  }
+
+  /**
+   * Writes the complete state of the simulation to a checkpoint file: the year, the random streams,
+   * the position in the staff market, the number of facility and club names used, and the
+   * university.
+   *
+   * @param path The checkpoint file
+   * @throws IOException If the checkpoint cannot be written
+   */
+  public void writeCheckpoint(Path path) throws IOException {
+    if (checkpoint == null) {
+      checkpoint = new CheckpointOutput();
+    }
+    checkpoint.clear();
+    checkpoint.putInt(year);
+    random.writeState(checkpoint);
+    checkpoint.putLong(staffMarket.getPosition());
+    names.writeState(checkpoint);
+    clubNames.writeState(checkpoint);
+    university.writeState(checkpoint);
+    checkpoint.writeTo(path);
+  }
+
+  /**
+   * Restores a simulation from a checkpoint written by {@link #writeCheckpoint(Path)}, so that it
+   * carries on exactly as the original simulation would have.
+   *
+   * @param path The checkpoint file
+   * @param staffMarket A market over the same candidates as the checkpointed simulation
+   * @param events The sink receiving the events of the restored simulation
+   * @return The restored simulation
+   * @throws IOException If the checkpoint or the staff market cannot be read
+   */
+  public static EcsSim resume(Path path, StaffMarket staffMarket, EventSink events)
+      throws IOException {
+    CheckpointInput in = CheckpointInput.read(path);
+    EcsSim ecsSim = new EcsSim(0, staffMarket, new SimulationRandom(0), events);
+    ecsSim.year = in.getInt();
+    ecsSim.random.readState(in);
+    staffMarket.seek(in.getLong());
+    ecsSim.names.readState(in);
+    ecsSim.clubNames.readState(in);
+    ecsSim.university.readState(in);
+    return ecsSim;
+  }
+
+  /**
+   * Times the phases of every following year in the given registry. Builds, upgrades, hires,
+   * retirements and attrition are only counted if the event sink of the simulation was wrapped
+   * with {@link Metrics#countEvents(EventSink)}.
+   *
+   * @param metrics The registry to record into.
+   */
+  public void setMetrics(Metrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Appends the state of the university at the end of every following year to the given series.
+   *
+   * @param series The series to write to, or null to stop writing.
+   */
+  public void setSeries(YearSeriesWriter series) {
+    this.series = series;
+  }
+
+  /**
+   * Gets the number of years simulated so far.
+   *
+   * @return The number of the last simulated year.
+   */
+  public int getYear() {
+    return year;
+  }
+
+  /**
+   * Retrieves the university being simulated.
+   *
+   * @return The simulated university.
+   */
+  public University getUniversity() {
+    return university;
   }
 
   /**
@@ -237,202 +374,209 @@ public class EcsSim {
    * @throws Exception Exception is thrown if no file is found
    */
   public EcsSim(int funding, String staffPath, int years) throws Exception {
-    this.university = new University(funding);
-    university = new University(funding);
-    staffMarket = new ArrayList<>();
-    staffMarket = readStaffFile(new File(staffPath));
-    names.addAll(
-        List.of(
-            new String[] {
-              "Zepler",
-              "Mountbatten",
-              "Glen Eyre",
-              "Wessex Lane",
-              "Lecture Hall",
-              "Goose",
-              "Law",
-              "Mathematics",
-              "Physics",
-              "Science",
-              "Archers",
-              "Lego",
-              "Philsophy",
-              "Ferris",
-              "Wheel",
-              "Library",
-              "London",
-              "New York",
-              "Milan",
-              "Manila",
-              "LAET",
-              "Tottenham",
-              "Stags",
-              "ECS building",
-              "Avalanche",
-              "Basilisk",
-              "Celestial",
-              "Dynamo",
-              "Eclipse",
-              "Frostbite",
-              "Galaxy",
-              "Harmony",
-              "Infinity",
-              "Jubilee",
-              "Kaleidoscope",
-              "Lunar",
-              "Mystique",
-              "Nebula",
-              "Oblivion",
-              "Pinnacle",
-              "Quantum",
-              "Radiance",
-              "Spectra",
-              "Tesseract",
-              "Utopia",
-              "Vortex",
-              "Wavelength",
-              "Zenith",
-              "Apollo",
-              "Borealis",
-              "Cynosure",
-              "Dexter",
-              "Enigma",
-              "Fandango",
-              "Gizmo",
-              "Hydra",
-              "Ignition",
-              "Jazz",
-              "Kismet",
-              "Labyrinth",
-              "Meridian",
-              "Nimbus",
-              "Olympus",
-              "Pandora",
-              "Quasar",
-              "Rhapsody",
-              "Serenity",
-              "Tranquil",
-              "Umbra",
-              "Verve",
-              "Whimsy",
-              "Xanadu",
-              "Yonder",
-              "Zephyr",
-              "Aether",
-              "Blossom",
-              "Cascade",
-              "Dawnstar",
-              "Ember",
-              "Frostwing",
-              "Glimmer",
-              "Harmony",
-              "Iris",
-              "Jade",
-              "Kairos",
-              "Lumina",
-              "Moonlight",
-              "Nyx",
-              "Orion",
-              "Peregrine",
-              "Quill",
-              "Ripple",
-              "Solstice",
-              "Twilight",
-              "Vesper",
-              "Willow",
-              "Xylon",
-              "Yara",
-              "Zephyr",
-              "Astra",
-              "Bane",
-              "Cerulean",
-              "Dusklight",
-              "Echo",
-              "Faelan",
-              "Garnet",
-              "Haven",
-              "Icarus",
-              "Juno",
-              "Kestrel",
-              "Lynx",
-              "Mystic",
-              "Nova",
-              "Oasis",
-              "Polaris",
-              "Quasar",
-              "Raven",
-              "Serenade",
-              "Tempest",
-              "Umbrella",
-              "Vivid",
-              "Wanderlust",
-              "Xanthe",
-              "Yonder"
-            }));
-    clubNames.addAll(
-        List.of(
-            new String[] {
-              "Basketball",
-              "Football",
-              "Chess",
-              "Running",
-              "Programming",
-              "Art",
-              "Music",
-              "Science",
-              "Dance",
-              "Photography",
-              "Cooking",
-              "Debate",
-              "Gaming",
-              "Robotics",
-              "Yoga",
-              "Theater",
-              "Literature",
-              "Environmental",
-              "Math",
-              "Film",
-              "Volleyball",
-              "Swimming",
-              "Martial Arts",
-              "Cycling",
-              "Astronomy",
-              "History",
-              "Archery",
-              "Badminton",
-              "Table Tennis",
-              "Sculpture",
-              "Journalism",
-              "Sustainability",
-              "Physics",
-              "Chemistry",
-              "Philanthropy",
-              "Climbing",
-              "Astrophysics",
-              "Geology",
-              "Foreign Language",
-              "Magic",
-              "Computer Science",
-              "Virtual Reality",
-              "Culinary Arts",
-              "Fashion Design",
-              "Robot Wars",
-              "Ultimate Frisbee",
-              "Esports",
-              "Mindfulness",
-              "Aerobics",
-              "Creative Writing"
-            }));
-    try {
-      reader = new BufferedReader(new FileReader(staffPath));
-    } catch (FileNotFoundException e) {
-      System.err.println(e.getMessage());
-    }
+    this(
+        funding,
+        new ListStaffMarket(readStaffFile(new File(staffPath))),
+        new SimulationRandom(),
+        TextEventSink.console());
+    run(years);
+  }
 
-    for (int i = 1; i <= years; i++) {
-      System.out.println("********************** Year " + i + " **************************");
-      simulate();
-    }
+  /**
+   * Creates a simulation without running it. Staff are hired from the given market one at a time,
+   * in the market's order.
+   *
+   * @param funding The initial funding of the university
+   * @param staffMarket The candidates the university hires from
+   * @param random The random stream of this simulation, split further for the university
+   * @param events The sink receiving the events of this simulation
+   */
+  public EcsSim(
+      int funding, StaffMarket staffMarket, SimulationRandom random, EventSink events) {
+    this.random = random;
+    this.events = events;
+    this.staffMarket = staffMarket;
+    university = new University(funding, random.split(), events);
+    names =
+        new NameSupplier(
+            lastFirst(
+                "Zepler",
+                "Mountbatten",
+                "Glen Eyre",
+                "Wessex Lane",
+                "Lecture Hall",
+                "Goose",
+                "Law",
+                "Mathematics",
+                "Physics",
+                "Science",
+                "Archers",
+                "Lego",
+                "Philsophy",
+                "Ferris",
+                "Wheel",
+                "Library",
+                "London",
+                "New York",
+                "Milan",
+                "Manila",
+                "LAET",
+                "Tottenham",
+                "Stags",
+                "ECS building",
+                "Avalanche",
+                "Basilisk",
+                "Celestial",
+                "Dynamo",
+                "Eclipse",
+                "Frostbite",
+                "Galaxy",
+                "Harmony",
+                "Infinity",
+                "Jubilee",
+                "Kaleidoscope",
+                "Lunar",
+                "Mystique",
+                "Nebula",
+                "Oblivion",
+                "Pinnacle",
+                "Quantum",
+                "Radiance",
+                "Spectra",
+                "Tesseract",
+                "Utopia",
+                "Vortex",
+                "Wavelength",
+                "Zenith",
+                "Apollo",
+                "Borealis",
+                "Cynosure",
+                "Dexter",
+                "Enigma",
+                "Fandango",
+                "Gizmo",
+                "Hydra",
+                "Ignition",
+                "Jazz",
+                "Kismet",
+                "Labyrinth",
+                "Meridian",
+                "Nimbus",
+                "Olympus",
+                "Pandora",
+                "Quasar",
+                "Rhapsody",
+                "Serenity",
+                "Tranquil",
+                "Umbra",
+                "Verve",
+                "Whimsy",
+                "Xanadu",
+                "Yonder",
+                "Zephyr",
+                "Aether",
+                "Blossom",
+                "Cascade",
+                "Dawnstar",
+                "Ember",
+                "Frostwing",
+                "Glimmer",
+                "Harmony",
+                "Iris",
+                "Jade",
+                "Kairos",
+                "Lumina",
+                "Moonlight",
+                "Nyx",
+                "Orion",
+                "Peregrine",
+                "Quill",
+                "Ripple",
+                "Solstice",
+                "Twilight",
+                "Vesper",
+                "Willow",
+                "Xylon",
+                "Yara",
+                "Zephyr",
+                "Astra",
+                "Bane",
+                "Cerulean",
+                "Dusklight",
+                "Echo",
+                "Faelan",
+                "Garnet",
+                "Haven",
+                "Icarus",
+                "Juno",
+                "Kestrel",
+                "Lynx",
+                "Mystic",
+                "Nova",
+                "Oasis",
+                "Polaris",
+                "Quasar",
+                "Raven",
+                "Serenade",
+                "Tempest",
+                "Umbrella",
+                "Vivid",
+                "Wanderlust",
+                "Xanthe",
+                "Yonder"));
+    clubNames =
+        new NameSupplier(
+            lastFirst(
+                "Basketball",
+                "Football",
+                "Chess",
+                "Running",
+                "Programming",
+                "Art",
+                "Music",
+                "Science",
+                "Dance",
+                "Photography",
+                "Cooking",
+                "Debate",
+                "Gaming",
+                "Robotics",
+                "Yoga",
+                "Theater",
+                "Literature",
+                "Environmental",
+                "Math",
+                "Film",
+                "Volleyball",
+                "Swimming",
+                "Martial Arts",
+                "Cycling",
+                "Astronomy",
+                "History",
+                "Archery",
+                "Badminton",
+                "Table Tennis",
+                "Sculpture",
+                "Journalism",
+                "Sustainability",
+                "Physics",
+                "Chemistry",
+                "Philanthropy",
+                "Climbing",
+                "Astrophysics",
+                "Geology",
+                "Foreign Language",
+                "Magic",
+                "Computer Science",
+                "Virtual Reality",
+                "Culinary Arts",
+                "Fashion Design",
+                "Robot Wars",
+                "Ultimate Frisbee",
+                "Esports",
+                "Mindfulness",
+                "Aerobics",
+                "Creative Writing"));
   }
 
   /**
@@ -442,22 +586,106 @@ public class EcsSim {
    * students is capped at 90 or 180, but this number increases by 100 years Simulator must be run
    * multiple times to get a different maximum number of students by year 50
    *
-   * @param args Command line arguments: - args[0]: Path to a file (unused in the current
-   *     implementation). - args[1]: Initial funding for the university. - args[2]: Number of
-   *     simulation years.
+   * @param args Command line arguments: - args[0]: Path to the staff file. - args[1]: Initial
+   *     funding for the university. - args[2]: Number of simulation years. Optionally followed by
+   *     --runs N to run N independent simulations in parallel and print their aggregated outcome,
+   *     --universities K to run K universities in parallel that hire from one shared staff market,
+   *     --seed S to make the simulation repeatable, --events silent|summary|trace to choose how
+   *     much of a single run is reported, --checkpoint FILE with --checkpoint-every N to save the
+   *     state of a single run every N years, and --resume FILE to carry on from such a checkpoint
+   *     up to the given number of years, and --roster heap|off-heap to keep the staff records in
+   *     direct memory, and --susu-league head-to-head to let the SUSU clubs of a league play each
+   *     other, and --journal FILE to record every event in a binary journal. Alternatively, --sweep
+   *     SPEC runs the grid described by a sweep spec, see {@link SweepRunner#fromSpec(Path)}, and
+   *     prints one CSV line per cell, and --serve PORT starts a local {@link SimulationServer} that
+   *     runs simulation jobs, and --replay JOURNAL YEAR prints the state at the end of a year
+   *     rebuilt from a journal.
    * @throws Exception If there is an issue during the simulation.
    */
   public static void main(String[] args) throws Exception {
-
-    String path = args[0];
-    int funding = Integer.parseInt(args[1]);
-    int years = Integer.parseInt(args[2]);
-    if (funding < 0) {
-      throw new IllegalArgumentException("Funding " + funding + " was < 0.");
+    if (args.length == 2 && "--sweep".equals(args[0])) {
+      SweepRunner sweep = SweepRunner.fromSpec(Path.of(args[1]));
+      sweep.print(sweep.run(), System.out);
+      return;
+    }
+    if (args.length == 3 && "--replay".equals(args[0])) {
+      System.out.println(JournalReplay.replay(Path.of(args[1]), Integer.parseInt(args[2])));
+      return;
+    }
+    if (args.length == 2 && "--serve".equals(args[0])) {
+      SimulationServer server = new SimulationServer(Integer.parseInt(args[1]));
+      server.start();
+      System.out.println("Listening on http://127.0.0.1:" + server.getPort());
+      return;
+    }
+    SimulationOptions options = SimulationOptions.parse(args);
+    RandomService randomService =
+        options.getSeed() != null ? new RandomService(options.getSeed()) : new RandomService();
+    if (options.getEventLevel() != null) {
+      System.out.println("Random seed: " + randomService.getSeed());
+    }
+    if (options.getRuns() > 1) {
+      MonteCarloRunner runner =
+          new MonteCarloRunner(
+              options.getFunding(),
+              readStaffFile(new File(options.getStaffPath())),
+              options.getYears());
+      System.out.println(runner.run(options.getRuns(), randomService));
+      return;
+    }
+    if (options.getUniversities() > 1) {
+      MultiUniversityRunner runner =
+          new MultiUniversityRunner(
+              options.getFunding(),
+              readStaffFile(new File(options.getStaffPath())),
+              options.getYears());
+      for (MultiUniversityRunner.Standing standing :
+          runner.run(options.getUniversities(), randomService)) {
+        System.out.println(standing);
+      }
+      return;
     }
-    if (years <= 0) {
-      throw new IllegalArgumentException("Years" + years + "was <= 0");
+    EventSink events =
+        options.getEventLevel() == null
+            ? EventSink.SILENT
+            : new AsyncTextEventSink(System.out, options.getEventLevel());
+    Metrics metrics = options.getMetricsPath() != null ? new Metrics() : Metrics.DISABLED;
+    try (FileStaffMarket staffMarket = new FileStaffMarket(Path.of(options.getStaffPath()));
+        YearSeriesWriter series =
+            options.getSeriesPath() != null
+                ? new YearSeriesWriter(
+                    Path.of(options.getSeriesPath()), options.isSeriesCompressed())
+                : null;
+        EventJournal journal =
+            options.getJournalPath() != null
+                ? new EventJournal(Path.of(options.getJournalPath()))
+                : null) {
+      EventSink sink =
+          metrics.countEvents(journal != null ? EventSink.both(events, journal) : events);
+      EcsSim ecsSim;
+      if (options.getResumePath() != null) {
+        ecsSim = resume(Path.of(options.getResumePath()), staffMarket, sink);
+      } else {
+        ecsSim = new EcsSim(options.getFunding(), staffMarket, randomService.newStream(), sink);
+      }
+      ecsSim.setMetrics(metrics);
+      ecsSim.setSeries(series);
+      ecsSim.setHeadToHead(options.isHeadToHead());
+      if (options.isOffHeapRoster()) {
+        ecsSim.getUniversity().setRosterStorage(RosterStorage.OFF_HEAP);
+      }
+      if (options.getCheckpointPath() != null) {
+        ecsSim.setCheckpoints(
+            Path.of(options.getCheckpointPath()), options.getCheckpointInterval());
+      }
+      ecsSim.run(options.getYears() - ecsSim.getYear());
+      if (metrics.isEnabled()) {
+        metrics.writeTo(Path.of(options.getMetricsPath()));
+      }
+    } finally {
+      if (events instanceof AsyncTextEventSink) {
+        ((AsyncTextEventSink) events).close();
+      }
     }
-    EcsSim ecsSim = new EcsSim(funding, path, years);
   }
 }
@@ -0,0 +1,159 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.EventSink;
+import simulation.RandomService;
+import simulation.RunStatistics;
+import simulation.SimulationRandom;
+import university.Ledger;
+import university.ListStaffMarket;
+import university.Staff;
+import university.University;
+
+/**
+ * Runs many independent simulations with the same funding, staff file and number of years on all
+ * available cores, and aggregates their end-of-year budget and reputation. Each run has its own
+ * University and staff market; the parsed staff file is shared read-only between the runs. The runs
+ * report no events.
+ */
+public class MonteCarloRunner {
+  private final int funding;
+  private final List<Staff> staffFile;
+  private final int years;
+
+  /**
+   * @param funding The initial funding of each university
+   * @param staffFile The staff read from the staff file, shared by all runs
+   * @param years The number of years each simulation runs for
+   */
+  public MonteCarloRunner(int funding, List<Staff> staffFile, int years) {
+    this.funding = funding;
+    this.staffFile = List.copyOf(staffFile);
+    this.years = years;
+  }
+
+  /**
+   * Runs the simulations and waits for all of them to finish.
+   *
+   * @param runs The number of independent simulations to run
+   * @param randomService The service handing out one random stream to each run, in run order
+   * @return The aggregated outcome of the runs
+   * @throws Exception If any of the simulations fails
+   */
+  public Outcome run(int runs, RandomService randomService) throws Exception {
+    int threads = Math.min(runs, Runtime.getRuntime().availableProcessors());
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<University>> results = new ArrayList<>(runs);
+      for (int i = 0; i < runs; i++) {
+        SimulationRandom random = randomService.newStream();
+        results.add(pool.submit(() -> runOnce(funding, staffFile, years, random)));
+      }
+      Outcome outcome = new Outcome();
+      for (Future<University> result : results) {
+        try {
+          outcome.add(result.get());
+        } catch (ExecutionException e) {
+          throw failure(e);
+        }
+      }
+      return outcome;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Unwraps the failure of a run executed on a pool. Errors such as OutOfMemoryError are rethrown as
+   * they are, exceptions are returned to be thrown by the caller, and any other throwable stays
+   * wrapped in the ExecutionException.
+   *
+   * @param e The failure reported by the pool
+   * @return The exception to throw
+   */
+  static Exception failure(ExecutionException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return cause instanceof Exception ? (Exception) cause : e;
+  }
+
+  /**
+   * Runs one simulation on its own University, staff market and random stream.
+   *
+   * @param funding The initial funding of the university
+   * @param staffFile The staff read from the staff file, shared read-only
+   * @param years The number of years the simulation runs for
+   * @param random The random stream of the run
+   * @return The university at the end of the simulation
+   * @throws Exception If there is an issue during the simulation
+   */
+  static University runOnce(
+      int funding, List<Staff> staffFile, int years, SimulationRandom random) throws Exception {
+    EcsSim ecsSim =
+        new EcsSim(funding, new ListStaffMarket(staffFile), random, EventSink.SILENT);
+    ecsSim.run(years);
+    return ecsSim.getUniversity();
+  }
+
+  /** The end-of-year budget and reputation statistics over all runs. */
+  public static class Outcome {
+    private final RunStatistics budget = new RunStatistics();
+    private final RunStatistics reputation = new RunStatistics();
+
+    /**
+     * Adds the final state of one run.
+     *
+     * @param university The university at the end of the run
+     */
+    void add(University university) {
+      budget.add(Ledger.toCoins(university.getBudgetCents()));
+      reputation.add(university.getReputation());
+    }
+
+    /**
+     * Writes the statistics of both measures.
+     *
+     * @param out The checkpoint to write to
+     */
+    void writeState(CheckpointOutput out) {
+      budget.writeState(out);
+      reputation.writeState(out);
+    }
+
+    /**
+     * Restores the statistics written by {@link #writeState(CheckpointOutput)}.
+     *
+     * @param in The checkpoint to read from
+     */
+    void readState(CheckpointInput in) {
+      budget.readState(in);
+      reputation.readState(in);
+    }
+
+    /**
+     * @return The statistics of the end-of-year budget
+     */
+    public RunStatistics getBudget() {
+      return budget;
+    }
+
+    /**
+     * @return The statistics of the end-of-year reputation
+     */
+    public RunStatistics getReputation() {
+      return reputation;
+    }
+
+    @Override
+    public String toString() {
+      return "Budget: " + budget + System.lineSeparator() + "Reputation: " + reputation;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import simulation.Counter;
+import simulation.EventSink;
+import simulation.Metrics;
+import simulation.RandomService;
+import simulation.SimulationRandom;
+import university.ConcurrentStaffMarket;
+import university.Ledger;
+import university.Staff;
+import university.University;
+
+/**
+ * Runs several universities at the same time, one per thread, all hiring from one shared staff
+ * market. Every candidate is hired by exactly one university: the market hands them out with a
+ * compare-and-set, and apart from that the universities share nothing, so each simulates its years
+ * at its own pace without any locking. The universities report no events.
+ */
+public class MultiUniversityRunner {
+  private final int funding;
+  private final List<Staff> staffFile;
+  private final int years;
+
+  /**
+   * @param funding The initial funding of each university
+   * @param staffFile The staff read from the staff file, which make up the shared market
+   * @param years The number of years each university is simulated for
+   */
+  public MultiUniversityRunner(int funding, List<Staff> staffFile, int years) {
+    this.funding = funding;
+    this.staffFile = List.copyOf(staffFile);
+    this.years = years;
+  }
+
+  /**
+   * Runs the universities and waits for all of them to finish.
+   *
+   * @param universities The number of competing universities
+   * @param randomService The service handing out one random stream to each university, in order
+   * @return The standing of every university at the end, in university order
+   * @throws Exception If any of the simulations fails
+   */
+  public List<Standing> run(int universities, RandomService randomService) throws Exception {
+    ConcurrentStaffMarket market = new ConcurrentStaffMarket(staffFile);
+    ExecutorService pool = Executors.newFixedThreadPool(universities);
+    try {
+      List<Future<Standing>> results = new ArrayList<>(universities);
+      for (int i = 1; i <= universities; i++) {
+        int number = i;
+        SimulationRandom random = randomService.newStream();
+        results.add(pool.submit(() -> runOne(number, market, random)));
+      }
+      List<Standing> standings = new ArrayList<>(universities);
+      for (Future<Standing> result : results) {
+        try {
+          standings.add(result.get());
+        } catch (ExecutionException e) {
+          throw MonteCarloRunner.failure(e);
+        }
+      }
+      return standings;
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Runs one university on the shared market.
+   *
+   * @param number The number of the university
+   * @param market The shared staff market
+   * @param random The random stream of the university
+   * @return The standing of the university at the end of the simulation
+   * @throws Exception If there is an issue during the simulation
+   */
+  private Standing runOne(int number, ConcurrentStaffMarket market, SimulationRandom random)
+      throws Exception {
+    Metrics metrics = new Metrics();
+    EcsSim ecsSim = new EcsSim(funding, market, random, metrics.countEvents(EventSink.SILENT));
+    ecsSim.run(years);
+    return new Standing(number, ecsSim.getUniversity(), metrics.getCount(Counter.HIRES));
+  }
+
+  /** The state of one university at the end of a competition. */
+  public static class Standing {
+    private final int number;
+    private final University university;
+    private final long hires;
+
+    /**
+     * @param number The number of the university
+     * @param university The university at the end of the simulation
+     * @param hires The number of candidates the university hired from the shared market
+     */
+    Standing(int number, University university, long hires) {
+      this.number = number;
+      this.university = university;
+      this.hires = hires;
+    }
+
+    /**
+     * @return The university at the end of the simulation
+     */
+    public University getUniversity() {
+      return university;
+    }
+
+    /**
+     * @return The number of candidates the university hired from the shared market
+     */
+    public long getHires() {
+      return hires;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "University %d: budget %.2f, reputation %d, staff %d, hired %d",
+          number,
+          Ledger.toCoins(university.getBudgetCents()),
+          university.getReputation(),
+          university.getNumberOfStaff(),
+          hires);
+    }
+  }
+}
@@ -0,0 +1,333 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import simulation.EventSink;
+import simulation.RandomService;
+import university.Ledger;
+import university.ListStaffMarket;
+import university.Staff;
+import university.University;
+
+/**
+ * A long-lived local service running simulation jobs, so that repeated simulations share one warmed
+ * up JVM. It listens on the loopback interface only and has two endpoints:
+ *
+ * <ul>
+ *   <li>{@code /run?staff=FILE&funding=N&years=N&seed=S} runs a simulation and streams one JSON line
+ *       per simulated year. It uses the same random stream as {@code EcsSim} with {@code --seed S}.
+ *       The id of the job is sent in the {@code X-Job-Id} header and in the first line.
+ *   <li>{@code /cancel?job=ID} cancels a running job, which stops before its next year.
+ * </ul>
+ *
+ * Every request is handled on its own virtual thread when the JVM supports them, and on a pooled
+ * platform thread otherwise. Jobs are cancelled through a flag of their own rather than by
+ * interrupting their thread, so a cancellation that arrives as a job ends cannot leak into the next
+ * job run by a pooled thread. The most recently used parsed staff files are cached until the file
+ * changes.
+ */
+public class SimulationServer {
+  /** The number of parsed staff files kept in the cache. */
+  private static final int CACHED_STAFF_FILES = 8;
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final AtomicLong jobIds = new AtomicLong();
+  private final Map<Long, AtomicBoolean> jobs = new ConcurrentHashMap<>();
+  private final Map<Path, StaffFile> staffFiles =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, StaffFile> eldest) {
+              return size() > CACHED_STAFF_FILES;
+            }
+          });
+
+  /**
+   * Creates the service. It does not accept requests until {@link #start()} is called.
+   *
+   * @param port The port to listen on, or 0 for any free port
+   * @throws IOException If the port cannot be bound
+   */
+  public SimulationServer(int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    executor = newJobExecutor();
+    server.setExecutor(executor);
+    server.createContext("/run", this::run);
+    server.createContext("/cancel", this::cancel);
+  }
+
+  /**
+   * Creates an executor starting a virtual thread per task. Virtual threads only exist from Java 21,
+   * and this code is compiled for Java 17, so they are looked up reflectively.
+   *
+   * @return The executor running the requests
+   */
+  private static ExecutorService newJobExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  /** Starts accepting requests. */
+  public void start() {
+    server.start();
+  }
+
+  /** Stops accepting requests and cancels every running job. */
+  public void stop() {
+    server.stop(0);
+    for (AtomicBoolean cancelled : jobs.values()) {
+      cancelled.set(true);
+    }
+    executor.shutdownNow();
+  }
+
+  /**
+   * @return The port the service listens on
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Runs a simulation job and streams its yearly results.
+   *
+   * @param exchange The request and response
+   * @throws IOException If the response cannot be sent
+   */
+  private void run(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      Map<String, String> query = parseQuery(exchange);
+      List<Staff> staff;
+      int funding;
+      int years;
+      long seed;
+      try {
+        staff = staffFile(Path.of(require(query, "staff")));
+        funding = Integer.parseInt(require(query, "funding"));
+        years = Integer.parseInt(require(query, "years"));
+        seed = Long.parseLong(query.getOrDefault("seed", "0"));
+        if (funding < 0 || years <= 0) {
+          throw new IllegalArgumentException("Funding must be >= 0 and years > 0");
+        }
+      } catch (IOException e) {
+        sendError(exchange, 400, "Cannot read staff file: " + e);
+        return;
+      } catch (IllegalArgumentException e) {
+        sendError(exchange, 400, e.getMessage());
+        return;
+      }
+
+      long job = jobIds.incrementAndGet();
+      AtomicBoolean cancelled = new AtomicBoolean();
+      jobs.put(job, cancelled);
+      exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+      exchange.getResponseHeaders().set("X-Job-Id", Long.toString(job));
+      exchange.sendResponseHeaders(200, 0);
+      Writer out = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8);
+      try {
+        out.write("{\"job\": " + job + "}\n");
+        out.flush();
+        EcsSim ecsSim =
+            new EcsSim(
+                funding,
+                new ListStaffMarket(staff),
+                new RandomService(seed).newStream(),
+                EventSink.SILENT);
+        for (int year = 1; year <= years; year++) {
+          if (cancelled.get()) {
+            out.write("{\"cancelled\": true, \"year\": " + ecsSim.getYear() + "}\n");
+            return;
+          }
+          ecsSim.run(1);
+          University university = ecsSim.getUniversity();
+          out.write(
+              String.format(
+                  Locale.ROOT,
+                  "{\"year\": %d, \"budget\": %s, \"reputation\": %d, \"students\": %d,"
+                      + " \"staff\": %d}%n",
+                  ecsSim.getYear(),
+                  Ledger.toCoins(university.getBudgetCents()),
+                  university.getReputation(),
+                  university.getEstate().getNumberOfStudents(),
+                  university.getNumberOfStaff()));
+          out.flush();
+        }
+      } catch (IOException e) {
+        // The client went away, which also ends the job
+      } catch (Exception e) {
+        out.write("{\"error\": \"" + escape(String.valueOf(e)) + "\"}\n");
+      } finally {
+        jobs.remove(job);
+        try {
+          out.flush();
+        } catch (IOException e) {
+          // The client went away
+        }
+      }
+    }
+  }
+
+  /**
+   * Cancels a running job.
+   *
+   * @param exchange The request and response
+   * @throws IOException If the response cannot be sent
+   */
+  private void cancel(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      AtomicBoolean job;
+      try {
+        job = jobs.get(Long.parseLong(require(parseQuery(exchange), "job")));
+      } catch (IllegalArgumentException e) {
+        sendError(exchange, 400, e.getMessage());
+        return;
+      }
+      if (job == null) {
+        sendError(exchange, 404, "No such running job");
+        return;
+      }
+      job.set(true);
+      send(exchange, 202, "Cancelling\n");
+    }
+  }
+
+  /**
+   * Gets the parsed staff of a staff file, parsing it only if it is not cached or has changed since
+   * it was cached. Only the most recently used files are kept, so the cache cannot grow without
+   * bound.
+   *
+   * @param path The staff file
+   * @return The staff of the file, shared read-only between jobs
+   * @throws IOException If the file cannot be read or parsed
+   */
+  private List<Staff> staffFile(Path path) throws IOException {
+    Path key = path.toAbsolutePath().normalize();
+    long modified = Files.getLastModifiedTime(key).toMillis();
+    long size = Files.size(key);
+    StaffFile cached = staffFiles.get(key);
+    if (cached != null && cached.modified == modified && cached.size == size) {
+      return cached.staff;
+    }
+    List<Staff> staff = List.copyOf(EcsSim.readStaffFile(new File(key.toString())));
+    staffFiles.put(key, new StaffFile(modified, size, staff));
+    return staff;
+  }
+
+  /**
+   * Splits the query string of a request into its parameters.
+   *
+   * @param exchange The request
+   * @return The decoded parameters
+   */
+  private static Map<String, String> parseQuery(HttpExchange exchange) {
+    Map<String, String> parameters = new HashMap<>();
+    String query = exchange.getRequestURI().getRawQuery();
+    if (query == null) {
+      return parameters;
+    }
+    for (String parameter : query.split("&")) {
+      int equals = parameter.indexOf('=');
+      if (equals > 0) {
+        parameters.put(
+            URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+            URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+      }
+    }
+    return parameters;
+  }
+
+  /**
+   * @param parameters The parameters of a request
+   * @param name The name of a required parameter
+   * @return The value of the parameter
+   * @throws IllegalArgumentException If the parameter is missing
+   */
+  private static String require(Map<String, String> parameters, String name) {
+    String value = parameters.get(name);
+    if (value == null) {
+      throw new IllegalArgumentException("Missing parameter " + name);
+    }
+    return value;
+  }
+
+  /**
+   * Sends a complete plain text response.
+   *
+   * @param exchange The request and response
+   * @param status The HTTP status
+   * @param body The text of the response
+   * @throws IOException If the response cannot be sent
+   */
+  private static void send(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  /**
+   * Sends an error response.
+   *
+   * @param exchange The request and response
+   * @param status The HTTP status
+   * @param message What went wrong
+   * @throws IOException If the response cannot be sent
+   */
+  private static void sendError(HttpExchange exchange, int status, String message)
+      throws IOException {
+    send(exchange, status, "Error: " + message + "\n");
+  }
+
+  /**
+   * @param text Any text
+   * @return The text with quotes and backslashes escaped for a JSON string
+   */
+  private static String escape(String text) {
+    return text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  /** A parsed staff file and the version of the file it was parsed from. */
+  private static class StaffFile {
+    private final long modified;
+    private final long size;
+    private final List<Staff> staff;
+
+    /**
+     * @param modified The modification time of the file when it was parsed
+     * @param size The size of the file when it was parsed
+     * @param staff The parsed staff
+     */
+    StaffFile(long modified, long size, List<Staff> staff) {
+      this.modified = modified;
+      this.size = size;
+      this.staff = staff;
+    }
+  }
+}
@@ -0,0 +1,378 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.RandomService;
+import simulation.SimulationRandom;
+import university.Staff;
+import university.University;
+
+/**
+ * Runs every combination of a grid of funding, years and staff files, each cell being a Monte Carlo
+ * run of a fixed number of simulations. Cells and their runs are executed on a work-stealing pool,
+ * and the outcome of every cell is cached on disk under a hash of its parameters, seed, staff file
+ * contents and {@link #CODE_VERSION}, so running a sweep again only computes the cells that changed.
+ *
+ * <p>A cell uses the random streams that {@code --runs} would use with the same seed, so its outcome
+ * matches a {@link MonteCarloRunner} run with the same parameters.
+ */
+public class SweepRunner {
+  /**
+   * The version of the simulation rules. Increase it whenever a change alters the results of a
+   * simulation, so that cells cached by older code are computed again.
+   */
+  static final int CODE_VERSION = 7;
+
+  private final List<Integer> fundings;
+  private final List<Integer> years;
+  private final List<Path> staffFiles;
+  private final int runs;
+  private final long seed;
+  private final Path cacheDirectory;
+
+  /**
+   * @param fundings The initial fundings of the grid
+   * @param years The numbers of years of the grid
+   * @param staffFiles The staff files of the grid
+   * @param runs The number of simulations in every cell
+   * @param seed The seed of the random streams of every cell
+   * @param cacheDirectory The directory holding the cached cell outcomes, created if missing
+   */
+  public SweepRunner(
+      List<Integer> fundings,
+      List<Integer> years,
+      List<Path> staffFiles,
+      int runs,
+      long seed,
+      Path cacheDirectory) {
+    if (runs <= 0) {
+      throw new IllegalArgumentException("Runs " + runs + " was <= 0");
+    }
+    this.fundings = List.copyOf(fundings);
+    this.years = List.copyOf(years);
+    this.staffFiles = List.copyOf(staffFiles);
+    this.runs = runs;
+    this.seed = seed;
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  /**
+   * Reads a grid spec. The spec is a properties file with comma separated lists of values for
+   * {@code funding}, {@code years} and {@code staff}, and optionally {@code runs} (default 1),
+   * {@code seed} (default 0) and {@code cache} (default {@code .sweep-cache}). Relative paths are
+   * resolved against the directory of the spec.
+   *
+   * @param spec The grid spec
+   * @return The sweep described by the spec
+   * @throws IOException If the spec cannot be read
+   * @throws IllegalArgumentException If a required key is missing or a value is invalid
+   */
+  public static SweepRunner fromSpec(Path spec) throws IOException {
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(spec, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    }
+    Path base = spec.toAbsolutePath().getParent();
+    List<Integer> fundings = new ArrayList<>();
+    for (String funding : values(properties, "funding")) {
+      fundings.add(Integer.parseInt(funding));
+    }
+    List<Integer> years = new ArrayList<>();
+    for (String year : values(properties, "years")) {
+      years.add(Integer.parseInt(year));
+    }
+    List<Path> staffFiles = new ArrayList<>();
+    for (String staffFile : values(properties, "staff")) {
+      staffFiles.add(base.resolve(staffFile));
+    }
+    return new SweepRunner(
+        fundings,
+        years,
+        staffFiles,
+        Integer.parseInt(properties.getProperty("runs", "1").trim()),
+        Long.parseLong(properties.getProperty("seed", "0").trim()),
+        base.resolve(properties.getProperty("cache", ".sweep-cache").trim()));
+  }
+
+  /**
+   * Splits a comma separated spec value.
+   *
+   * @param properties The spec
+   * @param key The key of the value
+   * @return The values, trimmed
+   */
+  private static List<String> values(Properties properties, String key) {
+    String value = properties.getProperty(key);
+    if (value == null || value.isBlank()) {
+      throw new IllegalArgumentException("Sweep spec has no " + key);
+    }
+    List<String> values = new ArrayList<>();
+    for (String part : value.split(",")) {
+      values.add(part.trim());
+    }
+    return values;
+  }
+
+  /**
+   * Runs every cell of the grid that is not cached and waits for all of them to finish. A cell
+   * whose simulation fails is reported as failed and not cached; the other cells still run.
+   *
+   * @return The cells in grid order: staff file, then funding, then years
+   * @throws IOException If a staff file cannot be read or the cache directory cannot be created
+   */
+  public List<Cell> run() throws IOException {
+    Files.createDirectories(cacheDirectory);
+    Map<Path, List<Staff>> staff = new HashMap<>();
+    Map<Path, String> digests = new HashMap<>();
+    for (Path staffFile : staffFiles) {
+      staff.put(staffFile, EcsSim.readStaffFile(staffFile.toFile()));
+      digests.put(staffFile, digest(staffFile));
+    }
+
+    List<Cell> cells = new ArrayList<>();
+    List<CellTask> tasks = new ArrayList<>();
+    for (Path staffFile : staffFiles) {
+      for (int funding : fundings) {
+        for (int year : years) {
+          Cell cell = new Cell(funding, year, staffFile);
+          cell.key =
+              sha256(
+                  CODE_VERSION + "|" + funding + "|" + year + "|" + runs + "|" + seed + "|"
+                      + digests.get(staffFile));
+          cells.add(cell);
+          if (!readCache(cell)) {
+            tasks.add(new CellTask(cell, staff.get(staffFile)));
+          }
+        }
+      }
+    }
+
+    ForkJoinPool pool = new ForkJoinPool();
+    try {
+      for (CellTask task : tasks) {
+        pool.execute(task);
+      }
+      for (CellTask task : tasks) {
+        task.join();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    return cells;
+  }
+
+  /**
+   * Loads the outcome of a cell from the cache.
+   *
+   * @param cell The cell, with its key
+   * @return True if the cell was cached, false if it has to be computed
+   */
+  private boolean readCache(Cell cell) {
+    Path file = cacheFile(cell);
+    if (!Files.exists(file)) {
+      return false;
+    }
+    try {
+      MonteCarloRunner.Outcome outcome = new MonteCarloRunner.Outcome();
+      outcome.readState(CheckpointInput.read(file));
+      cell.outcome = outcome;
+      cell.cached = true;
+      return true;
+    } catch (IOException | RuntimeException e) {
+      // An unreadable entry, for example of an older format, is simply computed again
+      return false;
+    }
+  }
+
+  /**
+   * Gets the cache file of a cell.
+   *
+   * @param cell The cell, with its key
+   * @return The path of its cache file
+   */
+  private Path cacheFile(Cell cell) {
+    return cacheDirectory.resolve(cell.key + ".bin");
+  }
+
+  /**
+   * Computes the SHA-256 digest of a file.
+   *
+   * @param file The file
+   * @return The digest in hexadecimal
+   * @throws IOException If the file cannot be read
+   */
+  private static String digest(Path file) throws IOException {
+    MessageDigest digest = sha256();
+    byte[] buffer = new byte[1 << 16];
+    try (InputStream in = Files.newInputStream(file)) {
+      for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return hex(digest.digest());
+  }
+
+  /**
+   * Computes the SHA-256 digest of a string.
+   *
+   * @param text The string
+   * @return The digest in hexadecimal
+   */
+  private static String sha256(String text) {
+    return hex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * @return A new SHA-256 digest
+   */
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Every Java platform supports SHA-256", e);
+    }
+  }
+
+  /**
+   * @param bytes The bytes to format
+   * @return The bytes in lower case hexadecimal
+   */
+  private static String hex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+
+  /**
+   * Prints the cells as CSV, one line per cell.
+   *
+   * @param cells The cells returned by {@link #run()}
+   * @param out Where to print the CSV
+   */
+  public void print(List<Cell> cells, PrintStream out) {
+    out.println(
+        "staff,funding,years,runs,budget_mean,budget_sd,budget_min,budget_max,"
+            + "reputation_mean,reputation_sd,reputation_min,reputation_max,source");
+    for (Cell cell : cells) {
+      out.print(cell.staffFile.getFileName() + "," + cell.funding + "," + cell.years + "," + runs);
+      if (cell.outcome != null) {
+        out.printf(
+            Locale.ROOT,
+            ",%.4f,%.4f,%.4f,%.4f,%.4f,%.4f,%.4f,%.4f,%s%n",
+            cell.outcome.getBudget().getMean(),
+            cell.outcome.getBudget().getStandardDeviation(),
+            cell.outcome.getBudget().getMin(),
+            cell.outcome.getBudget().getMax(),
+            cell.outcome.getReputation().getMean(),
+            cell.outcome.getReputation().getStandardDeviation(),
+            cell.outcome.getReputation().getMin(),
+            cell.outcome.getReputation().getMax(),
+            cell.cached ? "cached" : "computed");
+      } else {
+        out.println(",,,,,,,,,failed: " + cell.failure);
+      }
+    }
+  }
+
+  /** One combination of the grid and, once run, its outcome. */
+  public static class Cell {
+    private final int funding;
+    private final int years;
+    private final Path staffFile;
+    private String key;
+    private MonteCarloRunner.Outcome outcome;
+    private boolean cached;
+    private Throwable failure;
+
+    /**
+     * @param funding The initial funding of the cell
+     * @param years The number of years of the cell
+     * @param staffFile The staff file of the cell
+     */
+    Cell(int funding, int years, Path staffFile) {
+      this.funding = funding;
+      this.years = years;
+      this.staffFile = staffFile;
+    }
+
+    /**
+     * @return The outcome of the cell, or null if its simulations failed
+     */
+    public MonteCarloRunner.Outcome getOutcome() {
+      return outcome;
+    }
+
+    /**
+     * @return True if the outcome was read from the cache
+     */
+    public boolean isCached() {
+      return cached;
+    }
+  }
+
+  /** Runs the simulations of one cell as subtasks, then caches the outcome. */
+  private class CellTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final transient Cell cell;
+    private final transient List<Staff> staff;
+
+    /**
+     * @param cell The cell to compute
+     * @param staff The parsed staff file of the cell, shared read-only
+     */
+    CellTask(Cell cell, List<Staff> staff) {
+      this.cell = cell;
+      this.staff = staff;
+    }
+
+    @Override
+    protected void compute() {
+      RandomService randomService = new RandomService(seed);
+      List<ForkJoinTask<University>> simulations = new ArrayList<>(runs);
+      for (int i = 0; i < runs; i++) {
+        SimulationRandom random = randomService.newStream();
+        Callable<University> simulation =
+            () -> MonteCarloRunner.runOnce(cell.funding, staff, cell.years, random);
+        simulations.add(ForkJoinTask.adapt(simulation));
+      }
+      try {
+        invokeAll(simulations);
+        MonteCarloRunner.Outcome outcome = new MonteCarloRunner.Outcome();
+        for (ForkJoinTask<University> simulation : simulations) {
+          outcome.add(simulation.join());
+        }
+        cell.outcome = outcome;
+      } catch (RuntimeException e) {
+        cell.failure = e.getCause() != null ? e.getCause() : e;
+        return;
+      }
+      try {
+        CheckpointOutput out = new CheckpointOutput();
+        cell.outcome.writeState(out);
+        out.writeTo(cacheFile(cell));
+      } catch (IOException e) {
+        // The outcome is still reported; the cell is only computed again next time
+        System.err.println("Could not cache " + cacheFile(cell) + ": " + e.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package facilities;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+
+/**
+ * Supplies unique facility names on demand, without ever running out. The base names are handed out
+ * in order, then again with the suffix " 2", then with " 3", and so on, so the n-th name is worked
+ * out from n alone and the only state is the number of names supplied so far.
+ *
+ * <p>Names are unique by construction: duplicate base names are dropped, and base names that already
+ * end in a space and a number are rejected, as they could clash with a suffixed name.
+ */
+public class NameSupplier {
+    private final String[] baseNames;
+    private long supplied;
+
+    /**
+     * Constructs a supplier handing out the given base names first, in order.
+     *
+     * @param baseNames The base names. Later duplicates of a name are ignored.
+     * @throws IllegalArgumentException If there are no base names, or one ends in a space and a number.
+     */
+    public NameSupplier(List<String> baseNames) {
+        Set<String> seen = new HashSet<>();
+        List<String> unique = new ArrayList<>(baseNames.size());
+        for (String name : baseNames) {
+            if (name.matches(".* [0-9]+")) {
+                throw new IllegalArgumentException("Base name " + name + " ends in a number");
+            }
+            if (seen.add(name)) {
+                unique.add(name);
+            }
+        }
+        if (unique.isEmpty()) {
+            throw new IllegalArgumentException("A name supplier needs at least one base name");
+        }
+        this.baseNames = unique.toArray(new String[0]);
+    }
+
+    /**
+     * Supplies the next name.
+     *
+     * @return A name that this supplier has not supplied before.
+     */
+    public String next() {
+        long n = supplied++;
+        String baseName = baseNames[(int) (n % baseNames.length)];
+        long round = n / baseNames.length;
+        return round == 0 ? baseName : baseName + " " + (round + 1);
+    }
+
+    /**
+     * Gets the number of names supplied so far.
+     *
+     * @return The number of names supplied.
+     */
+    public long getSupplied() {
+        return supplied;
+    }
+
+    /**
+     * Writes the number of names supplied so far.
+     *
+     * @param out The checkpoint to write to.
+     */
+    public void writeState(CheckpointOutput out) {
+        out.putLong(supplied);
+    }
+
+    /**
+     * Restores the number of names supplied written by {@link #writeState(CheckpointOutput)}. The
+     * supplier must have the same base names as the one that was written.
+     *
+     * @param in The checkpoint to read from.
+     */
+    public void readState(CheckpointInput in) {
+        supplied = in.getLong();
+    }
+}
@@ -3,6 +3,7 @@ public interface Building {
 
     int getLevel();
     String getType();
+    BuildingType getBuildingType();
 
     void increaseLevel();
     int getUpgradeCost();
@@ -1,6 +1,8 @@
 package facilities.buildings;
 
 import facilities.Facility;
+import simulation.EventSink;
+import simulation.TextEventSink;
 
 /**
  * An abstract class representing a building in the university's facilities.
@@ -8,25 +10,18 @@ import facilities.Facility;
  */
 public class BuildingAbstract extends Facility implements Building {
     private int level = 1;
-    private final int maxLevel;
-    private final int baseCapacity;
-    private final int baseBuildingCost;
-    private final String type;
+    private final BuildingType type;
+    private LevelListener levelListener;
+    private EventSink events = TextEventSink.console();
 
     /**
      * Constructor for the abstract building class.
      *
-     * @param name            The name of the building.
-     * @param maxLevel        The maximum level the building can reach.
-     * @param baseCapacity    The base capacity of the building.
-     * @param baseBuildingCost The base building cost of the building.
-     * @param type            The type of the building.
+     * @param name The name of the building.
+     * @param type The type of the building, which holds its maximum level, capacities and costs.
      */
-    protected BuildingAbstract(String name, int maxLevel, int baseCapacity, int baseBuildingCost, String type) {
+    protected BuildingAbstract(String name, BuildingType type) {
         super(name);
-        this.maxLevel = maxLevel;
-        this.baseBuildingCost = baseBuildingCost;
-        this.baseCapacity = baseCapacity;
         this.type = type;
     }
 
@@ -36,6 +31,16 @@ public class BuildingAbstract extends Facility implements Building {
      * @return The type of the building.
      */
     public String getType() {
+        return type.getLabel();
+    }
+
+    /**
+     * Gets the type of the building as a constant that can be switched on.
+     *
+     * @return The type of the building.
+     */
+    @Override
+    public BuildingType getBuildingType() {
         return type;
     }
 
@@ -50,18 +55,49 @@ public class BuildingAbstract extends Facility implements Building {
     }
 
     /**
-     * Increases the level of the building, up to its maximum level.
-     * Prints a message if the building is already at the maximum level.
+     * Increases the level of the building, up to its maximum level, and notifies the level listener.
+     * Reports an event if the building is already at the maximum level.
      */
     @Override
     public void increaseLevel() {
-        if (level < maxLevel) {
+        if (level < type.getMaxLevel()) {
+            int previousCapacity = getCapacity();
             level++;
+            if (levelListener != null) {
+                levelListener.levelIncreased(this, previousCapacity);
+            }
         } else {
-            System.out.println("Building " + this.getName() + " is already at max level " + this.getMaxLevel());
+            events.upgradeAtMaxLevel(this.getName(), this.getMaxLevel());
         }
     }
 
+    /**
+     * Sets the listener notified after every level increase of this building.
+     *
+     * @param levelListener The listener to notify, or null to stop notifications.
+     */
+    public void setLevelListener(LevelListener levelListener) {
+        this.levelListener = levelListener;
+    }
+
+    /**
+     * Sets the sink receiving the events of this building.
+     *
+     * @param events The event sink.
+     */
+    public void setEventSink(EventSink events) {
+        this.events = events;
+    }
+
+    /**
+     * Gets the sink receiving the events of this building.
+     *
+     * @return The event sink.
+     */
+    protected EventSink getEventSink() {
+        return events;
+    }
+
     /**
      * Gets the cost to upgrade the building to the next level.
      *
@@ -69,11 +105,7 @@ public class BuildingAbstract extends Facility implements Building {
      */
     @Override
     public int getUpgradeCost() {
-        if (level < maxLevel) {
-            return baseBuildingCost * (level + 1);
-        } else {
-            return -1;
-        }
+        return type.getUpgradeCost(level);
     }
 
     /**
@@ -83,7 +115,7 @@ public class BuildingAbstract extends Facility implements Building {
      */
     @Override
     public int getCapacity() {
-        return (int) (baseCapacity * Math.pow(2, level - 1));
+        return type.getCapacity(level);
     }
 
     /**
@@ -93,7 +125,7 @@ public class BuildingAbstract extends Facility implements Building {
      */
     @Override
     public int getMaxLevel() {
-        return this.maxLevel;
+        return type.getMaxLevel();
     }
 
     /**
@@ -113,7 +145,7 @@ public class BuildingAbstract extends Facility implements Building {
      */
     @Override
     public int getBaseBuildingCost() {
-        return baseBuildingCost;
+        return type.getBaseBuildingCost();
     }
 }
 
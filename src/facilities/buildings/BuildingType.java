@@ -0,0 +1,113 @@
+package facilities.buildings;
+
+/**
+ * The types of building, with the constants every building of a type shares. The capacity and
+ * upgrade cost of every level are computed once, so querying them is a single array access.
+ */
+public enum BuildingType {
+    HALL("Hall", 4, 6, 100),
+    LAB("Lab", 5, 5, 300),
+    THEATRE("Theatre", 6, 10, 200),
+    SUSU("SUSU", 10, 12, 150);
+
+    private static final BuildingType[] TYPES = values();
+
+    private final String label;
+    private final int maxLevel;
+    private final int baseCapacity;
+    private final int baseBuildingCost;
+    private final int[] capacities;
+    private final int[] upgradeCosts;
+
+    /**
+     * Constructs a building type and its per-level tables.
+     *
+     * @param label            The name of the type reported by {@link Building#getType()}.
+     * @param maxLevel         The maximum level a building of this type can reach.
+     * @param baseCapacity     The capacity of a level 1 building.
+     * @param baseBuildingCost The cost of building a building of this type.
+     */
+    BuildingType(String label, int maxLevel, int baseCapacity, int baseBuildingCost) {
+        this.label = label;
+        this.maxLevel = maxLevel;
+        this.baseCapacity = baseCapacity;
+        this.baseBuildingCost = baseBuildingCost;
+        capacities = new int[maxLevel + 1];
+        upgradeCosts = new int[maxLevel + 1];
+        for (int level = 1; level <= maxLevel; level++) {
+            capacities[level] = baseCapacity << (level - 1);
+            upgradeCosts[level] = level < maxLevel ? baseBuildingCost * (level + 1) : -1;
+        }
+    }
+
+    /**
+     * Finds the type with the given name, ignoring case, so both "Susu" and "SUSU" are accepted.
+     *
+     * @param type The name of the type.
+     * @return The type, or null if there is no type with that name.
+     */
+    public static BuildingType parse(String type) {
+        for (BuildingType buildingType : TYPES) {
+            if (buildingType.label.equalsIgnoreCase(type)) {
+                return buildingType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the name of the type.
+     *
+     * @return The name of the type.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Gets the maximum level a building of this type can reach.
+     *
+     * @return The maximum level.
+     */
+    public int getMaxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     * Gets the capacity of a level 1 building of this type.
+     *
+     * @return The base capacity.
+     */
+    public int getBaseCapacity() {
+        return baseCapacity;
+    }
+
+    /**
+     * Gets the cost of building a building of this type.
+     *
+     * @return The base building cost.
+     */
+    public int getBaseBuildingCost() {
+        return baseBuildingCost;
+    }
+
+    /**
+     * Gets the capacity of a building of this type at the given level, which doubles with every level.
+     *
+     * @param level The level, between 1 and the maximum level.
+     * @return The capacity.
+     */
+    public int getCapacity(int level) {
+        return capacities[level];
+    }
+
+    /**
+     * Gets the cost of upgrading a building of this type from the given level to the next.
+     *
+     * @param level The level, between 1 and the maximum level.
+     * @return The cost, or -1 at the maximum level.
+     */
+    public int getUpgradeCost(int level) {
+        return upgradeCosts[level];
+    }
+}
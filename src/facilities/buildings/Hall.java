@@ -11,7 +11,7 @@ public class Hall extends BuildingAbstract {
      * @param name The name of the hall building.
      */
     public Hall(String name) {
-        super(name, 4, 6, 100, "Hall");
+        super(name, BuildingType.HALL);
     }
 }
 
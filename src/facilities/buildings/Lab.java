@@ -11,7 +11,7 @@ public class Lab extends BuildingAbstract {
      * @param name The name of the lab building.
      */
     public Lab(String name) {
-        super(name, 5, 5, 300, "Lab");
+        super(name, BuildingType.LAB);
     }
 }
 
@@ -0,0 +1,16 @@
+package facilities.buildings;
+
+/**
+ * Receives a notification whenever a building moves up a level, so that owners of the building can
+ * keep derived values such as capacity totals up to date.
+ */
+public interface LevelListener {
+
+    /**
+     * Called after the level of a building has been increased.
+     *
+     * @param building         The building that has been upgraded.
+     * @param previousCapacity The capacity of the building before the upgrade.
+     */
+    void levelIncreased(Building building, int previousCapacity);
+}
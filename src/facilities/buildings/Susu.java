@@ -1,22 +1,43 @@
 package facilities.buildings;
 
-import java.util.Random;
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.SimulationRandom;
 /**
  * Represents a SUSU (Students' Union) club in the university.
  * Extends the BuildingAbstract class and provides methods for student participation,
  * competition, league upgrades, and retrieving the league level.
+ *
+ * <p>The simulator plays the seasons of the clubs of an estate through
+ * {@link SusuLeague#playSeason}. {@link #compete()} and {@link #upgradeLeague()} are kept for single
+ * clubs; a club founded by a league table draws them from the stream of the table.
  */
 public class Susu extends BuildingAbstract {
     private int league;
+    private final SimulationRandom random;
     String name;
+    SusuLeague leagueTable; // The league table holding the league of the club, or null if it is in none
+    int leagueIndex; // The index of the club in the league table
     /**
-     * Constructs a SUSU club with the specified name.
+     * Constructs a SUSU club with the specified name and its own random stream.
      *
      * @param name The name of the SUSU club.
      */
     public Susu(String name) {
-            super(name, 10, 12, 150, "SUSU");
+            this(name, new SimulationRandom());
+    }
+
+    /**
+     * Constructs a SUSU club with the specified name, which draws its competition results from the given
+     * random stream.
+     *
+     * @param name   The name of the SUSU club.
+     * @param random The random stream of the club.
+     */
+    public Susu(String name, SimulationRandom random) {
+            super(name, BuildingType.SUSU);
             this.name = name;
+            this.random = random;
             league = 10;
     }
     /**
@@ -35,7 +56,6 @@ public class Susu extends BuildingAbstract {
 
     public boolean compete() {
         double chanceOfWinning = 0.8;
-        Random random = new Random();
         double randomValue = random.nextDouble();
 
         if (randomValue < chanceOfWinning) {
@@ -52,15 +72,17 @@ public class Susu extends BuildingAbstract {
 
     public boolean upgradeLeague() {
         boolean won = compete();
+        int league = getLeagueLevel();
         if (won && league > 1) {
-            this.league--;
-            System.out.println("The club " + this.name + " has moved up in the league to league: " + this.league);
+            setLeagueLevel(league - 1);
+            getEventSink().clubPromoted(this.name, league - 1);
             return true;
         } else if (won && league == 1) {
-            System.out.println("Club " + this.name + " is already in the highest league");
+            getEventSink().clubAtTopLeague(this.name);
             return false;  // Returning false as the club is already in the highest league
-        } else if (!won && this.league >= 1 && this.league < 10) {
-            this.league++;
+        } else if (!won && league >= 1 && league < 10) {
+            setLeagueLevel(league + 1);
+            getEventSink().clubRelegated(this.name, league + 1);
             return true;  // Returning true as the club moved down in the league
         } else {
             return false;  // Returning false if no league change occurred
@@ -70,8 +92,43 @@ public class Susu extends BuildingAbstract {
 
 
     public int getLeagueLevel(){
+        if (leagueTable != null) {
+            return leagueTable.getLeague(leagueIndex);
+        }
         return this.league;
     }
 
+    /**
+     * Sets the league level of the club, in its league table if it is in one.
+     *
+     * @param league The new league level.
+     */
+    private void setLeagueLevel(int league) {
+        if (leagueTable != null) {
+            leagueTable.setLeague(leagueIndex, league);
+        } else {
+            this.league = league;
+        }
+    }
+
+    /**
+     * Writes the league of the club. Its random stream is not written, as the clubs of an estate
+     * share the stream of their league table, which the estate writes.
+     *
+     * @param out The checkpoint to write to.
+     */
+    public void writeState(CheckpointOutput out) {
+        out.putInt(getLeagueLevel());
+    }
+
+    /**
+     * Restores the league written by {@link #writeState(CheckpointOutput)}.
+     *
+     * @param in The checkpoint to read from.
+     */
+    public void readState(CheckpointInput in) {
+        setLeagueLevel(in.getInt());
+    }
+
 }
 
@@ -0,0 +1,260 @@
+package facilities.buildings;
+
+import java.util.Arrays;
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.EventSink;
+import simulation.SimulationRandom;
+
+/**
+ * The league table of the SUSU clubs of an estate. The league levels of all clubs are kept in one
+ * primitive array, from 1 (the top league) to 10 (the bottom league), and a whole season is resolved
+ * in one pass with a single random stream.
+ *
+ * <p>Clubs added to the table read and change their league level through it, so
+ * {@link Susu#getLeagueLevel()} always shows the current table.
+ */
+public class SusuLeague {
+    /** The chance of a club beating the field in a season of independent competitions. */
+    private static final double CHANCE_OF_WINNING = 0.2;
+    private static final int TOP_LEAGUE = 1;
+    private static final int BOTTOM_LEAGUE = 10;
+
+    private Susu[] clubs = new Susu[8];
+    private int[] leagues = new int[8];
+    private int size;
+    private final SimulationRandom random;
+
+    /**
+     * Constructs an empty league table.
+     *
+     * @param random The random stream deciding every match of every season.
+     */
+    public SusuLeague(SimulationRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Adds a club to the table at its current league level. From now on the club reads and changes its
+     * league level through the table.
+     *
+     * @param club The club to add.
+     * @throws IllegalArgumentException If the club is already in a league table.
+     */
+    public void add(Susu club) {
+        if (club.leagueTable != null) {
+            throw new IllegalArgumentException(club.getName() + " is already in a league");
+        }
+        if (size == clubs.length) {
+            clubs = Arrays.copyOf(clubs, size * 2);
+            leagues = Arrays.copyOf(leagues, size * 2);
+        }
+        clubs[size] = club;
+        leagues[size] = club.getLeagueLevel();
+        club.leagueTable = this;
+        club.leagueIndex = size;
+        size++;
+    }
+
+    /**
+     * Founds a club in the bottom league and adds it to the table. The club shares the random stream
+     * of the table rather than having one of its own, so the table's stream is all there is to
+     * checkpoint.
+     *
+     * @param name The name of the club.
+     * @return The new club.
+     */
+    public Susu found(String name) {
+        Susu club = new Susu(name, random);
+        add(club);
+        return club;
+    }
+
+    /**
+     * Gets the number of clubs in the table.
+     *
+     * @return The number of clubs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a club of the table, in the order the clubs were added.
+     *
+     * @param index The index of the club.
+     * @return The club.
+     */
+    public Susu getClub(int index) {
+        return clubs[index];
+    }
+
+    /**
+     * Gets the league level of a club of the table.
+     *
+     * @param index The index of the club.
+     * @return The league level of the club, 1 being the top league.
+     */
+    public int getLeague(int index) {
+        return leagues[index];
+    }
+
+    /**
+     * Sets the league level of a club of the table.
+     *
+     * @param index  The index of the club.
+     * @param league The new league level.
+     */
+    void setLeague(int index, int league) {
+        leagues[index] = league;
+    }
+
+    /**
+     * Plays a season. Every club competes once, with one draw each, in the order the clubs were added.
+     * Independently, a club beats the field with a chance of 20%. Head to head, the clubs of each league
+     * are paired in the order they were added and each pair plays one even match; a club left without
+     * an opponent competes independently.
+     *
+     * <p>A winner moves up a league, or stays at the top; a loser moves down a league, or stays at the
+     * bottom. A win which moves a club up is a success. Every club that does not succeed costs 10 of
+     * budget and reputation, and every club that wins and is then still below the top league earns 50 of
+     * each.
+     *
+     * @param headToHead True for matches within each league, false for independent competitions.
+     * @param events     The sink receiving the results of the season.
+     * @return The effect of the season on the budget and reputation of the university.
+     */
+    public SeasonResult playSeason(boolean headToHead, EventSink events) {
+        SeasonResult result = new SeasonResult();
+        if (!headToHead) {
+            for (int i = 0; i < size; i++) {
+                settle(i, random.nextDouble() < CHANCE_OF_WINNING, events, result);
+            }
+            return result;
+        }
+        int[] byLeague = sortByLeague();
+        int start = 0;
+        while (start < size) {
+            int league = leagues[byLeague[start]];
+            int end = start;
+            while (end < size && leagues[byLeague[end]] == league) {
+                end++;
+            }
+            int next = start;
+            for (; next + 1 < end; next += 2) {
+                boolean firstWins = random.nextDouble() < 0.5;
+                settle(byLeague[next], firstWins, events, result);
+                settle(byLeague[next + 1], !firstWins, events, result);
+            }
+            if (next < end) {
+                settle(byLeague[next], random.nextDouble() < CHANCE_OF_WINNING, events, result);
+            }
+            start = end;
+        }
+        return result;
+    }
+
+    /**
+     * Orders the clubs by their league level before the season, keeping the order in which clubs were
+     * added within each league. As there are only ten leagues this is a counting sort.
+     *
+     * @return The indices of the clubs, top league first.
+     */
+    private int[] sortByLeague() {
+        int[] starts = new int[BOTTOM_LEAGUE + 2];
+        for (int i = 0; i < size; i++) {
+            starts[leagues[i] + 1]++;
+        }
+        for (int league = 1; league < starts.length; league++) {
+            starts[league] += starts[league - 1];
+        }
+        int[] byLeague = new int[size];
+        for (int i = 0; i < size; i++) {
+            byLeague[starts[leagues[i]]++] = i;
+        }
+        return byLeague;
+    }
+
+    /**
+     * Moves a club up or down after its competition, and adds its effect to the season.
+     *
+     * @param index  The index of the club.
+     * @param won    True if the club has won.
+     * @param events The sink receiving the result of the club.
+     * @param result The season to add the effect of the club to.
+     */
+    private void settle(int index, boolean won, EventSink events, SeasonResult result) {
+        int league = leagues[index];
+        String name = clubs[index].getName();
+        boolean promoted = false;
+        if (won && league > TOP_LEAGUE) {
+            league--;
+            promoted = true;
+            events.clubPromoted(name, league);
+        } else if (won) {
+            events.clubAtTopLeague(name);
+        } else if (league < BOTTOM_LEAGUE) {
+            league++;
+            events.clubRelegated(name, league);
+        }
+        leagues[index] = league;
+        events.clubCompeted(name, promoted);
+        if (won) {
+            result.wins++;
+        }
+        if (!promoted) {
+            result.budgetChange -= 10;
+            result.reputationChange -= 10;
+        }
+        if (won && league > TOP_LEAGUE) {
+            result.budgetChange += 50;
+            result.reputationChange += 50;
+        }
+    }
+
+    /**
+     * Writes the random stream of the table. The league levels are written with their clubs.
+     *
+     * @param out The checkpoint to write to.
+     */
+    public void writeState(CheckpointOutput out) {
+        random.writeState(out);
+    }
+
+    /**
+     * Restores the random stream written by {@link #writeState(CheckpointOutput)}.
+     *
+     * @param in The checkpoint to read from.
+     */
+    public void readState(CheckpointInput in) {
+        random.readState(in);
+    }
+
+    /** The effect of one season of the SUSU clubs on the university. */
+    public static class SeasonResult {
+        private int budgetChange;
+        private int reputationChange;
+        private int wins;
+
+        /**
+         * @return The change of the budget of the university
+         */
+        public int getBudgetChange() {
+            return budgetChange;
+        }
+
+        /**
+         * @return The change of the reputation of the university
+         */
+        public int getReputationChange() {
+            return reputationChange;
+        }
+
+        /**
+         * @return The number of clubs that won their competition
+         */
+        public int getWins() {
+            return wins;
+        }
+    }
+}
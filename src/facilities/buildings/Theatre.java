@@ -11,6 +11,6 @@ public class Theatre extends BuildingAbstract {
      * @param name The name of the theatre building.
      */
     public Theatre(String name) {
-        super(name, 6, 10, 200, "Theatre");
+        super(name, BuildingType.THEATRE);
     }
 }
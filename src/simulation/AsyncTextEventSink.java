@@ -0,0 +1,101 @@
+package simulation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the events of a simulation as lines of text written by a background thread through a
+ * buffered writer, so the simulation only pays for building the text. The queue of lines is
+ * bounded, so a simulation that produces text faster than it can be written waits for the writer.
+ * The sink must be closed to write the remaining lines.
+ */
+public class AsyncTextEventSink extends TextEventSink implements AutoCloseable {
+    private static final int QUEUE_CAPACITY = 1 << 16;
+    private static final String END = new String("end of events");
+
+    private final BlockingQueue<String> lines = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Writer writer;
+    private final Thread writerThread;
+    private volatile IOException failure;
+
+    /**
+     * Constructs a sink writing to the given stream, and starts its writer thread.
+     *
+     * @param out   The stream to write to. It is flushed but not closed when the sink is closed.
+     * @param level The most detailed level to report.
+     */
+    public AsyncTextEventSink(OutputStream out, EventLevel level) {
+        super(null, level);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        this.writerThread = new Thread(this::drain, "event-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    protected void write(String line) {
+        try {
+            while (!lines.offer(line, 100, TimeUnit.MILLISECONDS)) {
+                if (!writerThread.isAlive()) {
+                    return; // The writer has failed, which close() reports
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes lines from the queue until the end marker is taken.
+     */
+    private void drain() {
+        List<String> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(lines.take());
+                lines.drainTo(batch);
+                for (String line : batch) {
+                    if (line == END) {
+                        writer.flush();
+                        return;
+                    }
+                    writer.write(line);
+                    writer.write(System.lineSeparator());
+                }
+                batch.clear();
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes every remaining line and stops the writer thread.
+     *
+     * @throws UncheckedIOException If the lines could not be written.
+     */
+    @Override
+    public void close() {
+        write(END);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads back the state written by a {@link CheckpointOutput}, in the same order it was written.
+ */
+public class CheckpointInput {
+    private final ByteBuffer buffer;
+
+    private CheckpointInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads a checkpoint file and checks its header.
+     *
+     * @param path The path of the checkpoint file.
+     * @return The checkpoint, positioned after the header.
+     * @throws IOException If the file cannot be read, is not a checkpoint or has another version.
+     */
+    public static CheckpointInput read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != CheckpointOutput.MAGIC) {
+                throw new IOException(path + " is not a simulation checkpoint");
+            }
+            int version = buffer.getInt();
+            if (version != CheckpointOutput.VERSION) {
+                throw new IOException("Checkpoint " + path + " has version " + version
+                        + ", but this simulator reads version " + CheckpointOutput.VERSION);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException(path + " is not a simulation checkpoint", e);
+        }
+        return new CheckpointInput(buffer);
+    }
+
+    /**
+     * Reads an int.
+     *
+     * @return The value read.
+     */
+    public int getInt() {
+        return buffer.getInt();
+    }
+
+    /**
+     * Reads a long.
+     *
+     * @return The value read.
+     */
+    public long getLong() {
+        return buffer.getLong();
+    }
+
+    /**
+     * Reads a float.
+     *
+     * @return The value read.
+     */
+    public float getFloat() {
+        return buffer.getFloat();
+    }
+
+    /**
+     * Reads a string written by {@link CheckpointOutput#putString(String)}.
+     *
+     * @return The string.
+     */
+    public String getString() {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
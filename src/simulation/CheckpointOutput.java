@@ -0,0 +1,116 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Collects the state of a simulation in a compact binary form and writes it to a checkpoint file.
+ * Every checkpoint starts with a magic number and the format version. The buffer is kept between
+ * checkpoints, so writing a checkpoint only allocates when the state has grown.
+ */
+public class CheckpointOutput {
+    /** The first four bytes of every checkpoint file. */
+    public static final int MAGIC = 0x45435343; // "ECSC"
+    /** The version of the checkpoint format, increased whenever the layout changes. */
+    public static final int VERSION = 5;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+    /**
+     * Constructs an empty checkpoint.
+     */
+    public CheckpointOutput() {
+        clear();
+    }
+
+    /**
+     * Empties the checkpoint, leaving only the header, so that it can be filled again.
+     */
+    public void clear() {
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+    }
+
+    /**
+     * Makes sure there is room for the given number of bytes.
+     *
+     * @param bytes The number of bytes about to be written.
+     */
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+    }
+
+    /**
+     * Writes an int.
+     *
+     * @param value The value to write.
+     */
+    public void putInt(int value) {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    /**
+     * Writes a long.
+     *
+     * @param value The value to write.
+     */
+    public void putLong(long value) {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    /**
+     * Writes a float.
+     *
+     * @param value The value to write.
+     */
+    public void putFloat(float value) {
+        ensureRemaining(Float.BYTES);
+        buffer.putFloat(value);
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes.
+     *
+     * @param value The string to write.
+     */
+    public void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRemaining(Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Writes the checkpoint to a file. The checkpoint is first written to a temporary file next to
+     * the target and then moved over it, so a crash while writing never leaves a broken checkpoint.
+     *
+     * @param path The path of the checkpoint file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeTo(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        ByteBuffer contents = buffer.duplicate().flip();
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+        Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
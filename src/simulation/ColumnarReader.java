@@ -0,0 +1,193 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Loads a whole file written by {@link ColumnarWriter} into one primitive array per column.
+ */
+public class ColumnarReader {
+    private final String[] names;
+    private final ColumnarWriter.Type[] types;
+    private final int[][] columns;
+    private final int rows;
+
+    private ColumnarReader(String[] names, ColumnarWriter.Type[] types, int[][] columns, int rows) {
+        this.names = names;
+        this.types = types;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * Reads a columnar file.
+     *
+     * @param path The file to read.
+     * @return The columns of the file.
+     * @throws IOException If the file cannot be read or is not a columnar file of a known version.
+     */
+    public static ColumnarReader read(Path path) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (in.remaining() < Integer.BYTES * 3 + 1 || in.getInt() != ColumnarWriter.MAGIC) {
+            throw new IOException(path + " is not a columnar file");
+        }
+        int version = in.getInt();
+        if (version != ColumnarWriter.VERSION) {
+            throw new IOException(path + " has columnar format version " + version
+                    + ", expected " + ColumnarWriter.VERSION);
+        }
+        boolean compressed = in.get() != 0;
+        int count = in.getInt();
+        String[] names = new String[count];
+        ColumnarWriter.Type[] types = new ColumnarWriter.Type[count];
+        for (int i = 0; i < count; i++) {
+            types[i] = ColumnarWriter.Type.values()[in.get()];
+            byte[] name = new byte[in.getShort()];
+            in.get(name);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        int[][] columns = new int[count][];
+        int words = 0;
+        for (int i = 0; i < count; i++) {
+            columns[i] = new int[types[i].getWords() * ColumnarWriter.BLOCK_ROWS];
+            words += types[i].getWords();
+        }
+        int rows = 0;
+        Inflater inflater = compressed ? new Inflater() : null;
+        byte[] packed = new byte[0];
+        byte[] unpacked = new byte[words * ColumnarWriter.BLOCK_ROWS * Integer.BYTES];
+        try {
+            while (in.hasRemaining()) {
+                int blockRows = in.getInt();
+                int length = in.getInt();
+                ByteBuffer block;
+                if (compressed) {
+                    if (packed.length < length) {
+                        packed = new byte[length];
+                    }
+                    in.get(packed, 0, length);
+                    inflater.reset();
+                    inflater.setInput(packed, 0, length);
+                    int unpackedLength = words * blockRows * Integer.BYTES;
+                    int read = 0;
+                    while (read < unpackedLength && !inflater.finished()) {
+                        read += inflater.inflate(unpacked, read, unpackedLength - read);
+                    }
+                    block = ByteBuffer.wrap(unpacked, 0, read);
+                } else {
+                    block = in.slice();
+                    block.limit(length);
+                    in.position(in.position() + length);
+                }
+                if (block.remaining() != words * blockRows * Integer.BYTES) {
+                    throw new IOException(path + " has a truncated block at row " + rows);
+                }
+                for (int c = 0; c < count; c++) {
+                    int width = types[c].getWords();
+                    if (columns[c].length < (rows + blockRows) * width) {
+                        columns[c] = Arrays.copyOf(columns[c],
+                                Math.max(columns[c].length * 2, (rows + blockRows) * width));
+                    }
+                    block.asIntBuffer().get(columns[c], rows * width, blockRows * width);
+                    block.position(block.position() + blockRows * width * Integer.BYTES);
+                }
+                rows += blockRows;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException(path + " has a corrupt block at row " + rows, e);
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+        return new ColumnarReader(names, types, columns, rows);
+    }
+
+    /**
+     * Gets the number of rows in the file.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the names of the columns, in file order.
+     *
+     * @return A copy of the column names.
+     */
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * Gets the values of an int column.
+     *
+     * @param name The name of the column.
+     * @return A copy of the values, one per row.
+     */
+    public int[] getInts(String name) {
+        return Arrays.copyOf(columns[indexOf(name, ColumnarWriter.Type.INT)], rows);
+    }
+
+    /**
+     * Gets the values of a float column.
+     *
+     * @param name The name of the column.
+     * @return A copy of the values, one per row.
+     */
+    public float[] getFloats(String name) {
+        int[] bits = columns[indexOf(name, ColumnarWriter.Type.FLOAT)];
+        float[] values = new float[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = Float.intBitsToFloat(bits[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Gets the values of a long column.
+     *
+     * @param name The name of the column.
+     * @return A copy of the values, one per row.
+     */
+    public long[] getLongs(String name) {
+        int[] words = columns[indexOf(name, ColumnarWriter.Type.LONG)];
+        long[] values = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = (long) words[i * 2] << 32 | words[i * 2 + 1] & 0xFFFFFFFFL;
+        }
+        return values;
+    }
+
+    /**
+     * Finds a column of the given type.
+     *
+     * @param name The name of the column.
+     * @param type The expected type of the column.
+     * @return The index of the column.
+     */
+    private int indexOf(String name, ColumnarWriter.Type type) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                if (types[i] != type) {
+                    throw new IllegalArgumentException("Column " + name + " is " + types[i] + ", not " + type);
+                }
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column " + name);
+    }
+}
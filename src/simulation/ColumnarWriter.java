@@ -0,0 +1,228 @@
+package simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Streams rows of fixed-width primitive columns to a file. Rows are collected column by column in
+ * blocks, and each full block is written with the values of one column next to each other, which is
+ * both quick to load and compresses well.
+ *
+ * <p>The file starts with a header: the magic number, the format version, whether blocks are
+ * compressed, the number of columns and the type and name of every column. It is followed by blocks,
+ * each made of the number of rows, the number of bytes that follow and the values of every column in
+ * turn, deflated if the file is compressed.
+ */
+public class ColumnarWriter implements Closeable {
+    /** The first four bytes of every columnar file. */
+    public static final int MAGIC = 0x45435453; // "ECTS"
+    /** The version of the columnar format, increased whenever the layout changes. */
+    public static final int VERSION = 2;
+    /** The number of rows in every block but the last. */
+    public static final int BLOCK_ROWS = 4096;
+
+    /**
+     * The type of the values of a column. Values are stored as whole four-byte words, a long as its
+     * high word followed by its low word.
+     */
+    public enum Type {
+        INT(1),
+        FLOAT(1),
+        LONG(2);
+
+        private final int words;
+
+        /**
+         * @param words The number of four-byte words of every value
+         */
+        Type(int words) {
+            this.words = words;
+        }
+
+        /**
+         * Gets the number of four-byte words every value of the type takes.
+         *
+         * @return The width of a value in words.
+         */
+        public int getWords() {
+            return words;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Type[] types;
+    private final int[][] columns;
+    private final ByteBuffer block;
+    private final Deflater deflater;
+    private byte[] compressed;
+    private int rows;
+
+    /**
+     * Creates a columnar file, replacing any existing file, and writes its header.
+     *
+     * @param path     The file to write.
+     * @param names    The names of the columns.
+     * @param types    The types of the columns, in the same order as the names.
+     * @param compress Whether blocks should be deflated.
+     * @throws IOException If the file cannot be created.
+     */
+    public ColumnarWriter(Path path, String[] names, Type[] types, boolean compress) throws IOException {
+        if (names.length != types.length) {
+            throw new IllegalArgumentException(names.length + " column names for " + types.length + " column types");
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.types = types.clone();
+        columns = new int[names.length][];
+        int words = 0;
+        for (int i = 0; i < names.length; i++) {
+            columns[i] = new int[types[i].getWords() * BLOCK_ROWS];
+            words += types[i].getWords();
+        }
+        block = ByteBuffer.allocate(Integer.BYTES * 2 + words * BLOCK_ROWS * Integer.BYTES);
+        deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        compressed = compress ? new byte[block.capacity()] : null;
+
+        byte[][] encodedNames = new byte[names.length][];
+        int headerLength = Integer.BYTES * 3 + 1;
+        for (int i = 0; i < names.length; i++) {
+            encodedNames[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            headerLength += 1 + Short.BYTES + encodedNames[i].length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(headerLength);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.put((byte) (compress ? 1 : 0));
+        header.putInt(names.length);
+        for (int i = 0; i < names.length; i++) {
+            header.put((byte) types[i].ordinal());
+            header.putShort((short) encodedNames[i].length);
+            header.put(encodedNames[i]);
+        }
+        header.flip();
+        write(header);
+    }
+
+    /**
+     * Sets an int value of the current row.
+     *
+     * @param column The index of the column.
+     * @param value  The value.
+     */
+    public void setInt(int column, int value) {
+        columns[column][rows] = value;
+    }
+
+    /**
+     * Sets a float value of the current row.
+     *
+     * @param column The index of the column.
+     * @param value  The value.
+     */
+    public void setFloat(int column, float value) {
+        columns[column][rows] = Float.floatToRawIntBits(value);
+    }
+
+    /**
+     * Sets a long value of the current row.
+     *
+     * @param column The index of the column.
+     * @param value  The value.
+     */
+    public void setLong(int column, long value) {
+        columns[column][rows * 2] = (int) (value >>> 32);
+        columns[column][rows * 2 + 1] = (int) value;
+    }
+
+    /**
+     * Finishes the current row, writing the block once it is full. Columns that were not set keep
+     * the value they had in the same row of the previous block, so every value should be set.
+     *
+     * @throws IOException If the block cannot be written.
+     */
+    public void endRow() throws IOException {
+        rows++;
+        if (rows == BLOCK_ROWS) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the rows collected so far as a block.
+     *
+     * @throws IOException If the block cannot be written.
+     */
+    public void flush() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        block.clear();
+        block.position(Integer.BYTES * 2);
+        for (int c = 0; c < columns.length; c++) {
+            int words = rows * types[c].getWords();
+            block.asIntBuffer().put(columns[c], 0, words);
+            block.position(block.position() + words * Integer.BYTES);
+        }
+        int length = block.position() - Integer.BYTES * 2;
+        if (deflater == null) {
+            block.putInt(0, rows);
+            block.putInt(Integer.BYTES, length);
+            block.flip();
+            write(block);
+        } else {
+            deflater.reset();
+            deflater.setInput(block.array(), Integer.BYTES * 2, length);
+            deflater.finish();
+            int compressedLength = 0;
+            while (!deflater.finished()) {
+                if (compressedLength == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+            }
+            block.clear();
+            block.putInt(rows);
+            block.putInt(compressedLength);
+            block.flip();
+            write(block);
+            write(ByteBuffer.wrap(compressed, 0, compressedLength));
+        }
+        rows = 0;
+    }
+
+    /**
+     * Writes the whole buffer to the file.
+     *
+     * @param buffer The bytes to write.
+     * @throws IOException If the bytes cannot be written.
+     */
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Writes the last block and closes the file.
+     *
+     * @throws IOException If the block cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            channel.close();
+        }
+    }
+}
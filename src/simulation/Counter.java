@@ -0,0 +1,27 @@
+package simulation;
+
+/**
+ * The events of a simulation that are counted by {@link Metrics}.
+ */
+public enum Counter {
+    BUILDS("builds"),
+    UPGRADES("upgrades"),
+    HIRES("hires"),
+    RETIREMENTS("retirements"),
+    ATTRITION("attrition");
+
+    private final String label;
+
+    Counter(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the name of the counter used in metric dumps.
+     *
+     * @return The name of the counter.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,111 @@
+package simulation;
+
+/**
+ * Counts builds, upgrades, hires, retirements and attrition in a {@link Metrics} registry and passes
+ * every event on to another sink.
+ */
+class CountingEventSink implements EventSink {
+    private final EventSink delegate;
+    private final Metrics metrics;
+
+    /**
+     * Constructs a sink counting into the given registry.
+     *
+     * @param delegate The sink every event is passed on to.
+     * @param metrics  The registry to count into.
+     */
+    CountingEventSink(EventSink delegate, Metrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void yearStarted(int year, long budget) {
+        delegate.yearStarted(year, budget);
+    }
+
+    @Override
+    public void facilityBuilt(String type, String name) {
+        metrics.increment(Counter.BUILDS);
+        delegate.facilityBuilt(type, name);
+    }
+
+    @Override
+    public void facilityAddedUnpaid(String type, String name) {
+        delegate.facilityAddedUnpaid(type, name);
+    }
+
+    @Override
+    public void facilityUpgraded(String type, String name, int level, int reputation) {
+        metrics.increment(Counter.UPGRADES);
+        delegate.facilityUpgraded(type, name, level, reputation);
+    }
+
+    @Override
+    public void upgradeAtMaxLevel(String name, int maxLevel) {
+        delegate.upgradeAtMaxLevel(name, maxLevel);
+    }
+
+    @Override
+    public void staffHired(String name, float salary) {
+        metrics.increment(Counter.HIRES);
+        delegate.staffHired(name, salary);
+    }
+
+    @Override
+    public void staffRetired(String name) {
+        metrics.increment(Counter.RETIREMENTS);
+        delegate.staffRetired(name);
+    }
+
+    @Override
+    public void staffLeft(String name, int stamina) {
+        metrics.increment(Counter.ATTRITION);
+        delegate.staffLeft(name, stamina);
+    }
+
+    @Override
+    public void staffOverworked(String name, int students, int stamina) {
+        delegate.staffOverworked(name, students, stamina);
+    }
+
+    @Override
+    public void studentsEnrolled(int students) {
+        delegate.studentsEnrolled(students);
+    }
+
+    @Override
+    public void staffCounted(int staff) {
+        delegate.staffCounted(staff);
+    }
+
+    @Override
+    public void studentsInstructed(int instructed, int uninstructed) {
+        delegate.studentsInstructed(instructed, uninstructed);
+    }
+
+    @Override
+    public void clubCompeted(String name, boolean won) {
+        delegate.clubCompeted(name, won);
+    }
+
+    @Override
+    public void clubPromoted(String name, int league) {
+        delegate.clubPromoted(name, league);
+    }
+
+    @Override
+    public void clubAtTopLeague(String name) {
+        delegate.clubAtTopLeague(name);
+    }
+
+    @Override
+    public void clubRelegated(String name, int league) {
+        delegate.clubRelegated(name, league);
+    }
+
+    @Override
+    public void yearEnded(float totalSalary, float maintenanceCost, int buildings, long budget, int reputation) {
+        delegate.yearEnded(totalSalary, maintenanceCost, buildings, budget, reputation);
+    }
+}
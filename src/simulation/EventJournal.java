@@ -0,0 +1,257 @@
+package simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Appends every event of a simulation to a binary journal file as fixed-size records, which
+ * {@link JournalReplay} can scan to rebuild the state of the simulation at the end of any year.
+ *
+ * <p>The file is written through memory-mapped windows, so appending a record is a handful of
+ * stores into memory and the operating system writes the pages out in the background. Every record
+ * is {@link #RECORD_SIZE} bytes: the record type followed by up to six int values, with floats
+ * stored as their bits and longs, such as budgets in cents, as two ints, high first. Names are not
+ * repeated: the first time a name is used it is defined by a string record, holding its id and
+ * length and followed by its UTF-8 bytes padded to whole records, and events refer to it by its id
+ * from then on.
+ *
+ * <p>The first record of the file is a header holding the magic number, the format version and the
+ * record size. A record of type 0 marks the end of the journal, so a journal that was not closed
+ * can still be read up to its last complete record.
+ */
+public class EventJournal implements EventSink, Closeable {
+    /** The first four bytes of every journal file. */
+    public static final int MAGIC = 0x4543534A; // "ECSJ"
+    /** The version of the journal format, increased whenever the layout changes. */
+    public static final int VERSION = 3;
+    /** The size of every record in bytes. */
+    public static final int RECORD_SIZE = 28;
+    /** The size of the mapped windows the journal is written and read through, in whole records. */
+    static final int WINDOW_SIZE = RECORD_SIZE << 20;
+
+    static final int END = 0;
+    static final int STRING = 1;
+    static final int YEAR_STARTED = 2;
+    static final int FACILITY_BUILT = 3;
+    static final int FACILITY_UPGRADED = 4;
+    static final int UPGRADE_AT_MAX_LEVEL = 5;
+    static final int STAFF_HIRED = 6;
+    static final int STAFF_RETIRED = 7;
+    static final int STAFF_LEFT = 8;
+    static final int STAFF_OVERWORKED = 9;
+    static final int STUDENTS_ENROLLED = 10;
+    static final int STAFF_COUNTED = 11;
+    static final int STUDENTS_INSTRUCTED = 12;
+    static final int CLUB_COMPETED = 13;
+    static final int CLUB_PROMOTED = 14;
+    static final int CLUB_AT_TOP_LEAGUE = 15;
+    static final int CLUB_RELEGATED = 16;
+    static final int YEAR_ENDED = 17;
+    static final int FACILITY_ADDED_UNPAID = 18;
+
+    private final FileChannel channel;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long length;
+
+    /**
+     * Creates a journal file, replacing any existing file, and writes its header.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be created.
+     */
+    public EventJournal(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(0);
+        append(MAGIC, VERSION, RECORD_SIZE, 0, 0, 0, 0);
+    }
+
+    /**
+     * Maps the window starting at the given position of the file, growing the file to hold it.
+     *
+     * @param start The position of the window in the file.
+     */
+    private void map(long start) {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_WRITE, start, WINDOW_SIZE);
+            windowStart = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not extend the journal", e);
+        }
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param type The type of the record.
+     * @param a    The first value.
+     * @param b    The second value.
+     * @param c    The third value.
+     * @param d    The fourth value.
+     * @param e    The fifth value.
+     * @param f    The sixth value.
+     */
+    private void append(int type, int a, int b, int c, int d, int e, int f) {
+        if (length - windowStart == WINDOW_SIZE) {
+            map(length);
+        }
+        int position = (int) (length - windowStart);
+        MappedByteBuffer window = this.window;
+        window.putInt(position, type);
+        window.putInt(position + 4, a);
+        window.putInt(position + 8, b);
+        window.putInt(position + 12, c);
+        window.putInt(position + 16, d);
+        window.putInt(position + 20, e);
+        window.putInt(position + 24, f);
+        length += RECORD_SIZE;
+    }
+
+    /**
+     * Gets the id of a name, defining it with a string record the first time it is used.
+     *
+     * @param name The name.
+     * @return The id of the name.
+     */
+    private int id(String name) {
+        Integer id = strings.get(name);
+        if (id != null) {
+            return id;
+        }
+        int newId = strings.size();
+        strings.put(name, newId);
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        append(STRING, newId, bytes.length, 0, 0, 0, 0);
+        for (int offset = 0; offset < bytes.length; offset += RECORD_SIZE) {
+            if (length - windowStart == WINDOW_SIZE) {
+                map(length);
+            }
+            int position = (int) (length - windowStart);
+            for (int i = 0; i < RECORD_SIZE; i++) {
+                window.put(position + i, offset + i < bytes.length ? bytes[offset + i] : 0);
+            }
+            length += RECORD_SIZE;
+        }
+        return newId;
+    }
+
+    @Override
+    public void yearStarted(int year, long budget) {
+        append(YEAR_STARTED, year, (int) (budget >>> 32), (int) budget, 0, 0, 0);
+    }
+
+    @Override
+    public void facilityBuilt(String type, String name) {
+        append(FACILITY_BUILT, id(type), id(name), 0, 0, 0, 0);
+    }
+
+    @Override
+    public void facilityAddedUnpaid(String type, String name) {
+        append(FACILITY_ADDED_UNPAID, id(type), id(name), 0, 0, 0, 0);
+    }
+
+    @Override
+    public void facilityUpgraded(String type, String name, int level, int reputation) {
+        append(FACILITY_UPGRADED, id(type), id(name), level, reputation, 0, 0);
+    }
+
+    @Override
+    public void upgradeAtMaxLevel(String name, int maxLevel) {
+        append(UPGRADE_AT_MAX_LEVEL, id(name), maxLevel, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void staffHired(String name, float salary) {
+        append(STAFF_HIRED, id(name), Float.floatToRawIntBits(salary), 0, 0, 0, 0);
+    }
+
+    @Override
+    public void staffRetired(String name) {
+        append(STAFF_RETIRED, id(name), 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void staffLeft(String name, int stamina) {
+        append(STAFF_LEFT, id(name), stamina, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void staffOverworked(String name, int students, int stamina) {
+        append(STAFF_OVERWORKED, id(name), students, stamina, 0, 0, 0);
+    }
+
+    @Override
+    public void studentsEnrolled(int students) {
+        append(STUDENTS_ENROLLED, students, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void staffCounted(int staff) {
+        append(STAFF_COUNTED, staff, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void studentsInstructed(int instructed, int uninstructed) {
+        append(STUDENTS_INSTRUCTED, instructed, uninstructed, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void clubCompeted(String name, boolean won) {
+        append(CLUB_COMPETED, id(name), won ? 1 : 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void clubPromoted(String name, int league) {
+        append(CLUB_PROMOTED, id(name), league, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void clubAtTopLeague(String name) {
+        append(CLUB_AT_TOP_LEAGUE, id(name), 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void clubRelegated(String name, int league) {
+        append(CLUB_RELEGATED, id(name), league, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void yearEnded(float totalSalary, float maintenanceCost, int buildings, long budget, int reputation) {
+        append(YEAR_ENDED, Float.floatToRawIntBits(totalSalary), Float.floatToRawIntBits(maintenanceCost), buildings,
+                (int) (budget >>> 32), (int) budget, reputation);
+    }
+
+    /**
+     * Gets the number of bytes written to the journal so far, including the header.
+     *
+     * @return The length of the journal.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Flushes the journal to the file and cuts the file down to the records that were written.
+     *
+     * @throws IOException If the journal cannot be flushed or cut down.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            window.force();
+            channel.truncate(length);
+        } finally {
+            channel.close();
+        }
+    }
+}
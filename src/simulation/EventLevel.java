@@ -0,0 +1,21 @@
+package simulation;
+
+/**
+ * How much detail of a simulation is reported.
+ */
+public enum EventLevel {
+    /** Only the summary of each year. */
+    SUMMARY,
+    /** Every event of the simulation. */
+    TRACE;
+
+    /**
+     * Checks whether events of the given level are reported when this is the chosen level.
+     *
+     * @param level The level of an event.
+     * @return True if the event is reported, false otherwise.
+     */
+    public boolean includes(EventLevel level) {
+        return level.ordinal() <= ordinal();
+    }
+}
@@ -0,0 +1,181 @@
+package simulation;
+
+/**
+ * Receives the events of a simulation. Every method does nothing by default, so an implementation
+ * only overrides the events it cares about, and the values are passed unformatted so that an
+ * implementation which ignores them does no work at all. Budgets are passed exactly, in hundredths
+ * of a coin.
+ */
+public interface EventSink {
+
+    /** A sink that ignores every event. */
+    EventSink SILENT = new EventSink() {
+    };
+
+    /**
+     * Creates a sink passing every event to two sinks, first to one and then to the other.
+     *
+     * @param first  The sink receiving every event first.
+     * @param second The sink receiving every event second.
+     * @return The combined sink.
+     */
+    static EventSink both(EventSink first, EventSink second) {
+        return new TeeEventSink(first, second);
+    }
+
+    /**
+     * A year has started.
+     *
+     * @param year   The number of the year, starting at 1.
+     * @param budget The budget at the start of the year, in cents.
+     */
+    default void yearStarted(int year, long budget) {
+    }
+
+    /**
+     * A facility has been built.
+     *
+     * @param type The type of the facility.
+     * @param name The name of the facility.
+     */
+    default void facilityBuilt(String type, String name) {
+    }
+
+    /**
+     * A facility has been added to the estate although the budget could not pay for it, so the
+     * budget and reputation are unchanged.
+     *
+     * @param type The type of the facility.
+     * @param name The name of the facility.
+     */
+    default void facilityAddedUnpaid(String type, String name) {
+    }
+
+    /**
+     * A facility has been upgraded.
+     *
+     * @param type       The type of the facility.
+     * @param name       The name of the facility.
+     * @param level      The new level of the facility.
+     * @param reputation The reputation of the university after the upgrade.
+     */
+    default void facilityUpgraded(String type, String name, int level, int reputation) {
+    }
+
+    /**
+     * A building could not be upgraded because it is already at its maximum level.
+     *
+     * @param name     The name of the building.
+     * @param maxLevel The maximum level of the building.
+     */
+    default void upgradeAtMaxLevel(String name, int maxLevel) {
+    }
+
+    /**
+     * A staff member has been hired.
+     *
+     * @param name   The name of the staff member.
+     * @param salary The salary of the staff member.
+     */
+    default void staffHired(String name, float salary) {
+    }
+
+    /**
+     * A staff member has retired after 30 years of teaching.
+     *
+     * @param name The name of the staff member.
+     */
+    default void staffRetired(String name) {
+    }
+
+    /**
+     * A staff member has left because of low stamina.
+     *
+     * @param name    The name of the staff member.
+     * @param stamina The stamina of the staff member.
+     */
+    default void staffLeft(String name, int stamina) {
+    }
+
+    /**
+     * A staff member has been given students while their stamina was already negative.
+     *
+     * @param name     The name of the staff member.
+     * @param students The number of students given to the staff member.
+     * @param stamina  The stamina of the staff member.
+     */
+    default void staffOverworked(String name, int students, int stamina) {
+    }
+
+    /**
+     * The students of the year have enrolled.
+     *
+     * @param students The number of students.
+     */
+    default void studentsEnrolled(int students) {
+    }
+
+    /**
+     * The number of staff teaching this year is known.
+     *
+     * @param staff The number of staff members.
+     */
+    default void staffCounted(int staff) {
+    }
+
+    /**
+     * The students of the year have been instructed.
+     *
+     * @param instructed   The number of students that have been instructed.
+     * @param uninstructed The number of students that no staff member could instruct.
+     */
+    default void studentsInstructed(int instructed, int uninstructed) {
+    }
+
+    /**
+     * A SUSU club has competed.
+     *
+     * @param name The name of the club.
+     * @param won  True if the club has won, false otherwise.
+     */
+    default void clubCompeted(String name, boolean won) {
+    }
+
+    /**
+     * A SUSU club has moved up in the league.
+     *
+     * @param name   The name of the club.
+     * @param league The new league of the club.
+     */
+    default void clubPromoted(String name, int league) {
+    }
+
+    /**
+     * A SUSU club has won but is already in the highest league.
+     *
+     * @param name The name of the club.
+     */
+    default void clubAtTopLeague(String name) {
+    }
+
+    /**
+     * A SUSU club has moved down in the league.
+     *
+     * @param name   The name of the club.
+     * @param league The new league of the club.
+     */
+    default void clubRelegated(String name, int league) {
+    }
+
+    /**
+     * A year has ended.
+     *
+     * @param totalSalary     The salary paid to the staff.
+     * @param maintenanceCost The maintenance cost of the estate.
+     * @param buildings       The number of buildings of the estate.
+     * @param budget          The budget at the end of the year, in cents.
+     * @param reputation      The reputation at the end of the year.
+     */
+    default void yearEnded(float totalSalary, float maintenanceCost, int buildings, long budget, int reputation) {
+    }
+}
@@ -0,0 +1,268 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds the state of a simulation at the end of a year by scanning a journal written by
+ * {@link EventJournal}. The replay starts from an empty university and applies the events of the
+ * journal in order, so the estate, staff and clubs are those built, hired and founded during the
+ * journalled run, and the budget and reputation are those reported at the end of the year.
+ */
+public class JournalReplay {
+    /** The type label of SUSU clubs, whose league is followed from their founding. */
+    private static final String CLUB_TYPE = "SUSU";
+    /** The league every SUSU club is founded in. */
+    private static final int FIRST_LEAGUE = 10;
+
+    private JournalReplay() {
+    }
+
+    /**
+     * Rebuilds the state at the end of a year.
+     *
+     * @param path The journal file.
+     * @param year The year to rebuild the state at the end of.
+     * @return The state at the end of the year.
+     * @throws IOException              If the journal cannot be read or is not a journal.
+     * @throws IllegalArgumentException If the journal does not cover the end of the year.
+     */
+    public static State replay(Path path, int year) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            State state = new State();
+            List<String> strings = new ArrayList<>();
+            MappedByteBuffer window = null;
+            long windowStart = 0;
+            int remainingStringRecords = 0;
+            byte[] string = null;
+            for (long position = 0; position + EventJournal.RECORD_SIZE <= size;
+                    position += EventJournal.RECORD_SIZE) {
+                if (window == null || position - windowStart == EventJournal.WINDOW_SIZE) {
+                    windowStart = position;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(EventJournal.WINDOW_SIZE, size - position));
+                }
+                int at = (int) (position - windowStart);
+                if (position == 0) {
+                    checkHeader(window, path);
+                    continue;
+                }
+                if (remainingStringRecords > 0) {
+                    int offset = (string.length + EventJournal.RECORD_SIZE - 1) / EventJournal.RECORD_SIZE
+                            - remainingStringRecords;
+                    int start = offset * EventJournal.RECORD_SIZE;
+                    window.get(at, string, start, Math.min(EventJournal.RECORD_SIZE, string.length - start));
+                    if (--remainingStringRecords == 0) {
+                        strings.add(new String(string, StandardCharsets.UTF_8));
+                    }
+                    continue;
+                }
+                int type = window.getInt(at);
+                if (type == EventJournal.END) {
+                    break;
+                }
+                if (type == EventJournal.STRING) {
+                    string = new byte[window.getInt(at + 8)];
+                    remainingStringRecords = (string.length + EventJournal.RECORD_SIZE - 1) / EventJournal.RECORD_SIZE;
+                    if (remainingStringRecords == 0) {
+                        strings.add("");
+                    }
+                    continue;
+                }
+                state.records++;
+                if (state.apply(type, window, at, strings, year)) {
+                    return state;
+                }
+            }
+            throw new IllegalArgumentException("The journal ends before the end of year " + year);
+        }
+    }
+
+    /**
+     * Checks the header record of a journal.
+     *
+     * @param window The window holding the header.
+     * @param path   The journal file, for the error message.
+     * @throws IOException If the file is not a journal of this version.
+     */
+    private static void checkHeader(MappedByteBuffer window, Path path) throws IOException {
+        if (window.getInt(0) != EventJournal.MAGIC) {
+            throw new IOException(path + " is not an event journal");
+        }
+        if (window.getInt(4) != EventJournal.VERSION || window.getInt(8) != EventJournal.RECORD_SIZE) {
+            throw new IOException(path + " is a journal of version " + window.getInt(4)
+                    + ", but this simulator reads version " + EventJournal.VERSION);
+        }
+    }
+
+    /** The state of a simulation at the end of a year, as rebuilt from its journal. */
+    public static class State {
+        private int year;
+        private long budget;
+        private int reputation;
+        private float totalSalary;
+        private float maintenanceCost;
+        private final Map<String, String> facilityTypes = new LinkedHashMap<>();
+        private final Map<String, Integer> facilityLevels = new LinkedHashMap<>();
+        private final Map<String, Integer> staff = new LinkedHashMap<>();
+        private int numberOfStaff;
+        private final Map<String, Integer> clubLeagues = new LinkedHashMap<>();
+        private long records;
+
+        /**
+         * Applies an event record.
+         *
+         * @param type    The type of the record.
+         * @param window  The window holding the record.
+         * @param at      The position of the record in the window.
+         * @param strings The names defined so far, by id.
+         * @param target  The year the state is rebuilt at the end of.
+         * @return True if the record completes the target year.
+         */
+        private boolean apply(int type, MappedByteBuffer window, int at, List<String> strings, int target) {
+            int a = window.getInt(at + 4);
+            int b = window.getInt(at + 8);
+            switch (type) {
+                case EventJournal.YEAR_STARTED:
+                    year = a;
+                    budget = window.getLong(at + 8);
+                    return false;
+                case EventJournal.FACILITY_BUILT:
+                case EventJournal.FACILITY_ADDED_UNPAID:
+                    String name = strings.get(b);
+                    facilityTypes.put(name, strings.get(a));
+                    facilityLevels.put(name, 1);
+                    if (CLUB_TYPE.equals(strings.get(a))) {
+                        clubLeagues.put(name, FIRST_LEAGUE);
+                    }
+                    return false;
+                case EventJournal.FACILITY_UPGRADED:
+                    facilityLevels.put(strings.get(b), window.getInt(at + 12));
+                    reputation = window.getInt(at + 16);
+                    return false;
+                case EventJournal.STAFF_HIRED:
+                    staff.merge(strings.get(a), 1, Integer::sum);
+                    numberOfStaff++;
+                    return false;
+                case EventJournal.STAFF_RETIRED:
+                case EventJournal.STAFF_LEFT:
+                    staff.computeIfPresent(strings.get(a), (left, count) -> count == 1 ? null : count - 1);
+                    numberOfStaff--;
+                    return false;
+                case EventJournal.CLUB_PROMOTED:
+                case EventJournal.CLUB_RELEGATED:
+                    clubLeagues.put(strings.get(a), b);
+                    return false;
+                case EventJournal.YEAR_ENDED:
+                    totalSalary = Float.intBitsToFloat(a);
+                    maintenanceCost = Float.intBitsToFloat(b);
+                    budget = window.getLong(at + 16);
+                    reputation = window.getInt(at + 24);
+                    return year == target;
+                default:
+                    // The other events report on the year without changing the state
+                    return false;
+            }
+        }
+
+        /**
+         * @return The year the state is at the end of
+         */
+        public int getYear() {
+            return year;
+        }
+
+        /**
+         * @return The budget at the end of the year, in cents
+         */
+        public long getBudgetCents() {
+            return budget;
+        }
+
+        /**
+         * @return The budget at the end of the year, in coins
+         */
+        public double getBudget() {
+            return (double) budget / 100;
+        }
+
+        /**
+         * @return The reputation at the end of the year
+         */
+        public int getReputation() {
+            return reputation;
+        }
+
+        /**
+         * @return The salary paid in the year
+         */
+        public float getTotalSalary() {
+            return totalSalary;
+        }
+
+        /**
+         * @return The maintenance cost of the estate in the year
+         */
+        public float getMaintenanceCost() {
+            return maintenanceCost;
+        }
+
+        /**
+         * @return The type of every facility by name, in the order they were built
+         */
+        public Map<String, String> getFacilityTypes() {
+            return Collections.unmodifiableMap(facilityTypes);
+        }
+
+        /**
+         * @return The level of every facility by name, in the order they were built
+         */
+        public Map<String, Integer> getFacilityLevels() {
+            return Collections.unmodifiableMap(facilityLevels);
+        }
+
+        /**
+         * @return The number of employed staff members with each name, in the order they were first hired
+         */
+        public Map<String, Integer> getStaff() {
+            return Collections.unmodifiableMap(staff);
+        }
+
+        /**
+         * @return The number of employed staff members
+         */
+        public int getNumberOfStaff() {
+            return numberOfStaff;
+        }
+
+        /**
+         * @return The league of every SUSU club by name, in the order they were founded
+         */
+        public Map<String, Integer> getClubLeagues() {
+            return Collections.unmodifiableMap(clubLeagues);
+        }
+
+        /**
+         * @return The number of event records applied to rebuild the state
+         */
+        public long getRecords() {
+            return records;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Year %d: budget %.2f, reputation %d, %d facilities, %d staff, club leagues %s",
+                    year, getBudget(), reputation, facilityLevels.size(), numberOfStaff, clubLeagues);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package simulation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Times the phases of each simulated year and counts the main events of a simulation. A disabled
+ * registry does nothing but check a final flag, so timing can be left in place in every run:
+ *
+ * <pre>
+ * long start = metrics.start();
+ * ...
+ * metrics.stop(Phase.HIRING, start);
+ * </pre>
+ *
+ * The registry belongs to one simulation and must only be used by its thread.
+ */
+public class Metrics {
+    /** A registry that records nothing. */
+    public static final Metrics DISABLED = new Metrics(false);
+
+    private final boolean enabled;
+    private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+    private final long[] counters = new long[Counter.values().length];
+
+    /**
+     * Constructs an enabled registry.
+     */
+    public Metrics() {
+        this(true);
+    }
+
+    private Metrics(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    /**
+     * Checks whether this registry records anything.
+     *
+     * @return True if the registry is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @return The start time to pass to {@link #stop(Phase, long)}.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stops timing a phase and records its duration.
+     *
+     * @param phase The phase that has finished.
+     * @param start The time returned by {@link #start()}.
+     */
+    public void stop(Phase phase, long start) {
+        if (enabled) {
+            phases[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds one to a counter.
+     *
+     * @param counter The counter.
+     */
+    public void increment(Counter counter) {
+        if (enabled) {
+            counters[counter.ordinal()]++;
+        }
+    }
+
+    /**
+     * Gets the durations recorded for a phase.
+     *
+     * @param phase The phase.
+     * @return The histogram of the phase, or null if the registry is disabled.
+     */
+    public LatencyHistogram getHistogram(Phase phase) {
+        return phases[phase.ordinal()];
+    }
+
+    /**
+     * Gets the value of a counter.
+     *
+     * @param counter The counter.
+     * @return The number of counted events.
+     */
+    public long getCount(Counter counter) {
+        return counters[counter.ordinal()];
+    }
+
+    /**
+     * Wraps an event sink so that the counted events are counted by this registry before being
+     * passed on. A disabled registry returns the sink unchanged.
+     *
+     * @param events The sink to pass the events on to.
+     * @return The sink to give to the simulation.
+     */
+    public EventSink countEvents(EventSink events) {
+        return enabled ? new CountingEventSink(events, this) : events;
+    }
+
+    /**
+     * Writes the metrics to a file, as JSON if its name ends with .json and as CSV otherwise.
+     *
+     * @param path The file to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeTo(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            if (path.getFileName().toString().endsWith(".json")) {
+                writeJson(writer);
+            } else {
+                writeCsv(writer);
+            }
+        }
+    }
+
+    /**
+     * Writes the phase timings and counters as a JSON object.
+     *
+     * @param out Where to write the JSON.
+     * @throws IOException If the JSON cannot be written.
+     */
+    public void writeJson(Appendable out) throws IOException {
+        out.append("{\n  \"phases\": {");
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = phases[phase.ordinal()];
+            out.append(phase.ordinal() == 0 ? "\n" : ",\n");
+            out.append(String.format(Locale.ROOT,
+                    "    \"%s\": {\"count\": %d, \"totalNanos\": %d, \"meanNanos\": %.1f, \"minNanos\": %d,"
+                            + " \"p50Nanos\": %d, \"p90Nanos\": %d, \"p99Nanos\": %d, \"maxNanos\": %d}",
+                    phase.getLabel(), histogram.getCount(), histogram.getTotal(), histogram.getMean(),
+                    histogram.getMin(), histogram.getPercentile(50), histogram.getPercentile(90),
+                    histogram.getPercentile(99), histogram.getMax()));
+        }
+        out.append("\n  },\n  \"counters\": {");
+        for (Counter counter : Counter.values()) {
+            out.append(counter.ordinal() == 0 ? "\n" : ",\n");
+            out.append("    \"").append(counter.getLabel()).append("\": ")
+                    .append(Long.toString(counters[counter.ordinal()]));
+        }
+        out.append("\n  }\n}\n");
+    }
+
+    /**
+     * Writes the phase timings and counters as CSV, one row per phase and per counter.
+     *
+     * @param out Where to write the CSV.
+     * @throws IOException If the CSV cannot be written.
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("kind,name,count,total_ns,mean_ns,min_ns,p50_ns,p90_ns,p99_ns,max_ns\n");
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = phases[phase.ordinal()];
+            out.append(String.format(Locale.ROOT, "phase,%s,%d,%d,%.1f,%d,%d,%d,%d,%d\n",
+                    phase.getLabel(), histogram.getCount(), histogram.getTotal(), histogram.getMean(),
+                    histogram.getMin(), histogram.getPercentile(50), histogram.getPercentile(90),
+                    histogram.getPercentile(99), histogram.getMax()));
+        }
+        for (Counter counter : Counter.values()) {
+            out.append("counter,").append(counter.getLabel()).append(',')
+                    .append(Long.toString(counters[counter.ordinal()])).append(",,,,,,,\n");
+        }
+    }
+}
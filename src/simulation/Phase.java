@@ -0,0 +1,28 @@
+package simulation;
+
+/**
+ * The phases of a simulated year that are timed by {@link Metrics}.
+ */
+public enum Phase {
+    HIRING("hiring"),
+    BUILD_OR_UPGRADE("buildOrUpgrade"),
+    START_OF_YEAR("startOfYear"),
+    STAFF_STUDENT_RATIO("staffStudentRatio"),
+    SUSU_CLUB_ACTION("susuClubAction"),
+    END_OF_YEAR("endOfYear");
+
+    private final String label;
+
+    Phase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the name of the phase used in metric dumps.
+     *
+     * @return The name of the phase.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,47 @@
+package simulation;
+
+/**
+ * The single source of randomness of the simulator. It is seeded once, usually from the command
+ * line, and hands out independent random streams to each run and component, so that identical
+ * seeds give identical simulations and parallel runs never share a generator.
+ */
+public class RandomService {
+    private final long seed;
+    private final SimulationRandom root;
+
+    /**
+     * Constructs a random service with the given seed.
+     *
+     * @param seed The seed of all the random streams handed out.
+     */
+    public RandomService(long seed) {
+        this.seed = seed;
+        this.root = new SimulationRandom(seed);
+    }
+
+    /**
+     * Constructs a random service with a seed chosen from the current time.
+     */
+    public RandomService() {
+        this(System.nanoTime() ^ System.currentTimeMillis() << 20);
+    }
+
+    /**
+     * Gets the seed of this service, so that a run can be repeated.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Hands out a new random stream that is independent of every other stream of this service. The
+     * streams are handed out in a fixed order, so the n-th stream is the same for the same seed.
+     *
+     * @return A new random stream, which must only be used by one thread at a time.
+     */
+    public synchronized SimulationRandom newStream() {
+        return root.split();
+    }
+}
@@ -0,0 +1,105 @@
+package simulation;
+
+/**
+ * Summary statistics (count, mean, standard deviation, minimum and maximum) of a value observed
+ * over many simulation runs. The mean and variance are updated incrementally, so the individual
+ * values are not kept.
+ */
+public class RunStatistics {
+    private long count;
+    private double mean;
+    private double sumOfSquares; // Sum of squared differences from the mean
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Adds the value observed in one run.
+     *
+     * @param value The observed value.
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        sumOfSquares += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Gets the number of observed values.
+     *
+     * @return The number of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the observed values.
+     *
+     * @return The mean, or 0 if there are no values.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the sample standard deviation of the observed values.
+     *
+     * @return The standard deviation, or 0 if there are fewer than two values.
+     */
+    public double getStandardDeviation() {
+        return count > 1 ? Math.sqrt(sumOfSquares / (count - 1)) : 0;
+    }
+
+    /**
+     * Gets the smallest observed value.
+     *
+     * @return The minimum.
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest observed value.
+     *
+     * @return The maximum.
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Writes the statistics, so that they can be restored exactly.
+     *
+     * @param out The checkpoint to write to.
+     */
+    public void writeState(CheckpointOutput out) {
+        out.putLong(count);
+        out.putLong(Double.doubleToRawLongBits(mean));
+        out.putLong(Double.doubleToRawLongBits(sumOfSquares));
+        out.putLong(Double.doubleToRawLongBits(min));
+        out.putLong(Double.doubleToRawLongBits(max));
+    }
+
+    /**
+     * Restores the statistics written by {@link #writeState(CheckpointOutput)}.
+     *
+     * @param in The checkpoint to read from.
+     */
+    public void readState(CheckpointInput in) {
+        count = in.getLong();
+        mean = Double.longBitsToDouble(in.getLong());
+        sumOfSquares = Double.longBitsToDouble(in.getLong());
+        min = Double.longBitsToDouble(in.getLong());
+        max = Double.longBitsToDouble(in.getLong());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mean %.2f, sd %.2f, min %.2f, max %.2f (%d runs)",
+                getMean(), getStandardDeviation(), min, max, count);
+    }
+}
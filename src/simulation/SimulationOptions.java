@@ -0,0 +1,278 @@
+package simulation;
+
+/**
+ * The options of a simulation, parsed from the command line. The first three arguments are the
+ * staff file, the initial funding and the number of years; they may be followed by named options.
+ */
+public class SimulationOptions {
+    private final String staffPath;
+    private final int funding;
+    private final int years;
+    private int runs = 1;
+    private int universities = 1;
+    private Long seed;
+    private EventLevel eventLevel = EventLevel.TRACE;
+    private String checkpointPath;
+    private int checkpointInterval = 100;
+    private String resumePath;
+    private String metricsPath;
+    private String journalPath;
+    private String seriesPath;
+    private boolean seriesCompressed;
+    private boolean offHeapRoster;
+    private boolean headToHead;
+
+    /**
+     * Constructs options with the required simulation parameters and defaults for everything else.
+     *
+     * @param staffPath The path of the staff file.
+     * @param funding   The initial funding of the university.
+     * @param years     The number of years to simulate.
+     */
+    public SimulationOptions(String staffPath, int funding, int years) {
+        if (funding < 0) {
+            throw new IllegalArgumentException("Funding " + funding + " was < 0.");
+        }
+        if (years <= 0) {
+            throw new IllegalArgumentException("Years" + years + "was <= 0");
+        }
+        this.staffPath = staffPath;
+        this.funding = funding;
+        this.years = years;
+    }
+
+    /**
+     * Parses the command line arguments of the simulator.
+     *
+     * @param args The command line arguments: staff file, funding, years, then any of
+     *             --runs N, --universities K, --seed S, --events silent|summary|trace, --checkpoint FILE,
+     *             --checkpoint-every N, --resume FILE, --metrics FILE, --series FILE,
+     *             --series-compression none|deflate, --roster heap|off-heap,
+     *             --susu-league independent|head-to-head, --journal FILE.
+     * @return The parsed options.
+     * @throws IllegalArgumentException If an argument is missing or invalid.
+     */
+    public static SimulationOptions parse(String[] args) {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: EcsSim <staff file> <funding> <years> [options]");
+        }
+        SimulationOptions options = new SimulationOptions(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        for (int i = 3; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Option " + option + " needs a value");
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--runs":
+                    options.runs = Integer.parseInt(value);
+                    if (options.runs <= 0) {
+                        throw new IllegalArgumentException("Runs " + options.runs + " was <= 0");
+                    }
+                    break;
+                case "--universities":
+                    options.universities = Integer.parseInt(value);
+                    if (options.universities <= 0) {
+                        throw new IllegalArgumentException("Universities " + options.universities + " was <= 0");
+                    }
+                    break;
+                case "--seed":
+                    options.seed = Long.parseLong(value);
+                    break;
+                case "--events":
+                    options.eventLevel = "silent".equals(value) ? null : EventLevel.valueOf(value.toUpperCase());
+                    break;
+                case "--checkpoint":
+                    options.checkpointPath = value;
+                    break;
+                case "--checkpoint-every":
+                    options.checkpointInterval = Integer.parseInt(value);
+                    if (options.checkpointInterval <= 0) {
+                        throw new IllegalArgumentException("Checkpoint interval " + options.checkpointInterval + " was <= 0");
+                    }
+                    break;
+                case "--resume":
+                    options.resumePath = value;
+                    break;
+                case "--metrics":
+                    options.metricsPath = value;
+                    break;
+                case "--journal":
+                    options.journalPath = value;
+                    break;
+                case "--roster":
+                    if (!"heap".equals(value) && !"off-heap".equals(value)) {
+                        throw new IllegalArgumentException("Roster must be heap or off-heap, not " + value);
+                    }
+                    options.offHeapRoster = "off-heap".equals(value);
+                    break;
+                case "--susu-league":
+                    if (!"independent".equals(value) && !"head-to-head".equals(value)) {
+                        throw new IllegalArgumentException(
+                                "SUSU league must be independent or head-to-head, not " + value);
+                    }
+                    options.headToHead = "head-to-head".equals(value);
+                    break;
+                case "--series":
+                    options.seriesPath = value;
+                    break;
+                case "--series-compression":
+                    if (!"none".equals(value) && !"deflate".equals(value)) {
+                        throw new IllegalArgumentException("Unknown series compression " + value);
+                    }
+                    options.seriesCompressed = "deflate".equals(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Gets the path of the staff file.
+     *
+     * @return The path of the staff file.
+     */
+    public String getStaffPath() {
+        return staffPath;
+    }
+
+    /**
+     * Gets the initial funding of the university.
+     *
+     * @return The initial funding.
+     */
+    public int getFunding() {
+        return funding;
+    }
+
+    /**
+     * Gets the number of years to simulate.
+     *
+     * @return The number of years.
+     */
+    public int getYears() {
+        return years;
+    }
+
+    /**
+     * Gets the number of independent simulations to run.
+     *
+     * @return The number of runs.
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Gets the number of universities competing for the staff of one shared market.
+     *
+     * @return The number of universities.
+     */
+    public int getUniversities() {
+        return universities;
+    }
+
+    /**
+     * Gets the seed of the random streams of the simulation.
+     *
+     * @return The seed, or null if none was given and a random seed should be used.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the most detailed level of events to report.
+     *
+     * @return The event level, or null if no events should be reported.
+     */
+    public EventLevel getEventLevel() {
+        return eventLevel;
+    }
+
+    /**
+     * Gets the file that checkpoints are written to.
+     *
+     * @return The checkpoint file, or null if no checkpoints should be written.
+     */
+    public String getCheckpointPath() {
+        return checkpointPath;
+    }
+
+    /**
+     * Gets the number of years between checkpoints.
+     *
+     * @return The checkpoint interval.
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * Gets the checkpoint to resume the simulation from.
+     *
+     * @return The checkpoint file, or null to start a new simulation.
+     */
+    public String getResumePath() {
+        return resumePath;
+    }
+
+    /**
+     * Gets the file that phase timings and event counts are written to at the end of the run.
+     *
+     * @return The metrics file, or null if no metrics should be recorded.
+     */
+    public String getMetricsPath() {
+        return metricsPath;
+    }
+
+    /**
+     * Gets the file every event is journalled to, see {@link EventJournal}.
+     *
+     * @return The journal file, or null if no journal should be written.
+     */
+    public String getJournalPath() {
+        return journalPath;
+    }
+
+    /**
+     * Gets the columnar file that the state of every year is written to.
+     *
+     * @return The series file, or null if no series should be written.
+     */
+    public String getSeriesPath() {
+        return seriesPath;
+    }
+
+    /**
+     * Checks whether the blocks of the series file should be deflated.
+     *
+     * @return True if the series should be compressed.
+     */
+    public boolean isSeriesCompressed() {
+        return seriesCompressed;
+    }
+
+    /**
+     * Checks whether the staff records of the university should be kept in direct memory rather
+     * than on the heap. Direct memory is limited by {@code -XX:MaxDirectMemorySize}, which defaults
+     * to the maximum heap size, so very large rosters need that limit raised as well.
+     *
+     * @return True if the staff roster should be off-heap.
+     */
+    public boolean isOffHeapRoster() {
+        return offHeapRoster;
+    }
+
+    /**
+     * Checks whether the SUSU clubs play head to head within their leagues rather than each competing
+     * on its own.
+     *
+     * @return True for matches within each league.
+     */
+    public boolean isHeadToHead() {
+        return headToHead;
+    }
+}
@@ -0,0 +1,100 @@
+package simulation;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A splittable random stream using the same SplitMix64 algorithm as {@link java.util.SplittableRandom},
+ * so a seed gives the same numbers. Unlike SplittableRandom, its state can be saved into and restored
+ * from a checkpoint. A stream must only be used by one thread at a time; use {@link #split()} to
+ * give another component or thread its own independent stream.
+ */
+public final class SimulationRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private long gamma;
+
+    /**
+     * Constructs a stream from the given seed.
+     *
+     * @param seed The seed.
+     */
+    public SimulationRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Constructs a stream from a seed chosen by a secure random generator.
+     */
+    public SimulationRandom() {
+        this(new SecureRandom().nextLong());
+    }
+
+    private SimulationRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Splits off a new stream which is independent of this one. This stream moves on by two values.
+     *
+     * @return The new stream.
+     */
+    public SimulationRandom split() {
+        return new SimulationRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    /**
+     * Writes the state of this stream.
+     *
+     * @param out The checkpoint to write to.
+     */
+    public void writeState(CheckpointOutput out) {
+        out.putLong(seed);
+        out.putLong(gamma);
+    }
+
+    /**
+     * Replaces the state of this stream with one written by {@link #writeState(CheckpointOutput)}.
+     *
+     * @param in The checkpoint to read from.
+     */
+    public void readState(CheckpointInput in) {
+        seed = in.getLong();
+        gamma = in.getLong();
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
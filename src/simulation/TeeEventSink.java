@@ -0,0 +1,122 @@
+package simulation;
+
+/**
+ * Passes every event to two sinks, first to one and then to the other.
+ */
+class TeeEventSink implements EventSink {
+    private final EventSink first;
+    private final EventSink second;
+
+    /**
+     * Constructs a sink passing every event to both given sinks.
+     *
+     * @param first  The sink receiving every event first.
+     * @param second The sink receiving every event second.
+     */
+    TeeEventSink(EventSink first, EventSink second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public void yearStarted(int year, long budget) {
+        first.yearStarted(year, budget);
+        second.yearStarted(year, budget);
+    }
+
+    @Override
+    public void facilityBuilt(String type, String name) {
+        first.facilityBuilt(type, name);
+        second.facilityBuilt(type, name);
+    }
+
+    @Override
+    public void facilityAddedUnpaid(String type, String name) {
+        first.facilityAddedUnpaid(type, name);
+        second.facilityAddedUnpaid(type, name);
+    }
+
+    @Override
+    public void facilityUpgraded(String type, String name, int level, int reputation) {
+        first.facilityUpgraded(type, name, level, reputation);
+        second.facilityUpgraded(type, name, level, reputation);
+    }
+
+    @Override
+    public void upgradeAtMaxLevel(String name, int maxLevel) {
+        first.upgradeAtMaxLevel(name, maxLevel);
+        second.upgradeAtMaxLevel(name, maxLevel);
+    }
+
+    @Override
+    public void staffHired(String name, float salary) {
+        first.staffHired(name, salary);
+        second.staffHired(name, salary);
+    }
+
+    @Override
+    public void staffRetired(String name) {
+        first.staffRetired(name);
+        second.staffRetired(name);
+    }
+
+    @Override
+    public void staffLeft(String name, int stamina) {
+        first.staffLeft(name, stamina);
+        second.staffLeft(name, stamina);
+    }
+
+    @Override
+    public void staffOverworked(String name, int students, int stamina) {
+        first.staffOverworked(name, students, stamina);
+        second.staffOverworked(name, students, stamina);
+    }
+
+    @Override
+    public void studentsEnrolled(int students) {
+        first.studentsEnrolled(students);
+        second.studentsEnrolled(students);
+    }
+
+    @Override
+    public void staffCounted(int staff) {
+        first.staffCounted(staff);
+        second.staffCounted(staff);
+    }
+
+    @Override
+    public void studentsInstructed(int instructed, int uninstructed) {
+        first.studentsInstructed(instructed, uninstructed);
+        second.studentsInstructed(instructed, uninstructed);
+    }
+
+    @Override
+    public void clubCompeted(String name, boolean won) {
+        first.clubCompeted(name, won);
+        second.clubCompeted(name, won);
+    }
+
+    @Override
+    public void clubPromoted(String name, int league) {
+        first.clubPromoted(name, league);
+        second.clubPromoted(name, league);
+    }
+
+    @Override
+    public void clubAtTopLeague(String name) {
+        first.clubAtTopLeague(name);
+        second.clubAtTopLeague(name);
+    }
+
+    @Override
+    public void clubRelegated(String name, int league) {
+        first.clubRelegated(name, league);
+        second.clubRelegated(name, league);
+    }
+
+    @Override
+    public void yearEnded(float totalSalary, float maintenanceCost, int buildings, long budget, int reputation) {
+        first.yearEnded(totalSalary, maintenanceCost, buildings, budget, reputation);
+        second.yearEnded(totalSalary, maintenanceCost, buildings, budget, reputation);
+    }
+}
@@ -0,0 +1,177 @@
+package simulation;
+
+import java.io.PrintStream;
+
+/**
+ * Reports the events of a simulation as lines of text. Events above the chosen level are dropped
+ * before any text is built.
+ */
+public class TextEventSink implements EventSink {
+    private static final TextEventSink CONSOLE = new TextEventSink(System.out, EventLevel.TRACE);
+
+    private final PrintStream out;
+    private final EventLevel level;
+
+    /**
+     * Constructs a sink printing to the given stream.
+     *
+     * @param out   The stream to print to, or null if a subclass handles the lines itself.
+     * @param level The most detailed level to report.
+     */
+    public TextEventSink(PrintStream out, EventLevel level) {
+        this.out = out;
+        this.level = level;
+    }
+
+    /**
+     * Gets the sink printing every event to the standard output.
+     *
+     * @return The console sink.
+     */
+    public static TextEventSink console() {
+        return CONSOLE;
+    }
+
+    /**
+     * Writes one line of text.
+     *
+     * @param line The line to write.
+     */
+    protected void write(String line) {
+        out.println(line);
+    }
+
+    /**
+     * Checks whether events of the given level are reported.
+     *
+     * @param eventLevel The level of the event.
+     * @return True if the event is reported.
+     */
+    private boolean reports(EventLevel eventLevel) {
+        return level.includes(eventLevel);
+    }
+
+    /**
+     * Converts an amount of cents to coins for printing.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in coins.
+     */
+    private static double coins(long cents) {
+        return (double) cents / 100;
+    }
+
+    @Override
+    public void yearStarted(int year, long budget) {
+        if (reports(EventLevel.SUMMARY)) {
+            write("********************** Year " + year + " **************************");
+            write("Start of year budget: " + coins(budget));
+        }
+    }
+
+    @Override
+    public void facilityBuilt(String type, String name) {
+        if (reports(EventLevel.TRACE)) {
+            write("Building of type: " + type + " name: " + name + " has been built");
+        }
+    }
+
+    @Override
+    public void facilityUpgraded(String type, String name, int level, int reputation) {
+        if (reports(EventLevel.TRACE)) {
+            write(name + " of type: " + type + " has been upgraded to: " + level
+                    + " and reputation has increased to: " + reputation);
+        }
+    }
+
+    @Override
+    public void upgradeAtMaxLevel(String name, int maxLevel) {
+        if (reports(EventLevel.TRACE)) {
+            write("Building " + name + " is already at max level " + maxLevel);
+        }
+    }
+
+    @Override
+    public void staffHired(String name, float salary) {
+        if (reports(EventLevel.TRACE)) {
+            write(name + "has been hired. Salary: " + salary);
+        }
+    }
+
+    @Override
+    public void staffRetired(String name) {
+        if (reports(EventLevel.TRACE)) {
+            write(name + "left due to 30 years of teaching");
+        }
+    }
+
+    @Override
+    public void staffLeft(String name, int stamina) {
+        if (reports(EventLevel.TRACE)) {
+            write(name + "has left due to low stamina of: " + stamina);
+        }
+    }
+
+    @Override
+    public void staffOverworked(String name, int students, int stamina) {
+        if (reports(EventLevel.TRACE)) {
+            write(name + " cannot teach " + students + " students: Loses too much stamina (" + stamina + ")");
+        }
+    }
+
+    @Override
+    public void studentsEnrolled(int students) {
+        if (reports(EventLevel.TRACE)) {
+            write("The university has " + students + " students");
+        }
+    }
+
+    @Override
+    public void staffCounted(int staff) {
+        if (reports(EventLevel.TRACE)) {
+            write("Number of staff: " + staff);
+        }
+    }
+
+    @Override
+    public void studentsInstructed(int instructed, int uninstructed) {
+        if (reports(EventLevel.TRACE)) {
+            write("Total number of students being instructed: " + instructed);
+            if (uninstructed > 0) {
+                write("Number of uninstructed students: " + uninstructed);
+            }
+        }
+    }
+
+    @Override
+    public void clubCompeted(String name, boolean won) {
+        if (reports(EventLevel.TRACE)) {
+            write("The club " + name + (won ? " has won their competition" : " has lost their competition"));
+        }
+    }
+
+    @Override
+    public void clubPromoted(String name, int league) {
+        if (reports(EventLevel.TRACE)) {
+            write("The club " + name + " has moved up in the league to league: " + league);
+        }
+    }
+
+    @Override
+    public void clubAtTopLeague(String name) {
+        if (reports(EventLevel.TRACE)) {
+            write("Club " + name + " is already in the highest league");
+        }
+    }
+
+    @Override
+    public void yearEnded(float totalSalary, float maintenanceCost, int buildings, long budget, int reputation) {
+        if (reports(EventLevel.SUMMARY)) {
+            write("Total staff salary: " + totalSalary);
+            write("Total maintenance cost: " + maintenanceCost);
+            write("Number of buildings: " + buildings);
+            write("End of year budget is: " + coins(budget));
+            write("End of Year reputation: " + reputation);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package university;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A staff market shared by universities hiring on different threads. The candidates are a read-only
+ * list and the only mutable state is the position of the next candidate, which is advanced with a
+ * compare-and-set, so every candidate is claimed by exactly one university without any locking.
+ */
+public class ConcurrentStaffMarket implements StaffMarket {
+    private final List<Staff> candidates;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * Constructs a market over the given candidates.
+     *
+     * @param candidates The candidates in hiring order. They are copied when hired, so the list is
+     *                   never modified and can be shared.
+     */
+    public ConcurrentStaffMarket(List<Staff> candidates) {
+        this.candidates = List.copyOf(candidates);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor.get() < candidates.size();
+    }
+
+    @Override
+    public Staff next() {
+        Staff candidate = poll();
+        if (candidate == null) {
+            throw new NoSuchElementException("The staff market is empty");
+        }
+        return candidate;
+    }
+
+    @Override
+    public Staff poll() {
+        while (true) {
+            int position = cursor.get();
+            if (position >= candidates.size()) {
+                return null;
+            }
+            if (cursor.compareAndSet(position, position + 1)) {
+                Staff candidate = candidates.get(position);
+                return new Staff(candidate.getName(), candidate.getSkill());
+            }
+        }
+    }
+
+    @Override
+    public void reset() {
+        cursor.set(0);
+    }
+
+    @Override
+    public long getPosition() {
+        return cursor.get();
+    }
+
+    @Override
+    public void seek(long position) {
+        if (position < 0 || position > candidates.size()) {
+            throw new IllegalArgumentException("Position " + position + " is outside the staff market");
+        }
+        cursor.set((int) position);
+    }
+}
@@ -3,15 +3,52 @@ package university;
 import facilities.Facility;
 import facilities.buildings.*;
 
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.EventSink;
+import simulation.SimulationRandom;
+import simulation.TextEventSink;
+
 import java.util.ArrayList;
+import java.util.HashSet;
 /**
  * Represents the estate of the university containing various facilities.
  */
 public class Estate {
     private final ArrayList<Facility> facilities = new ArrayList<>();
     private final ArrayList<Susu> susuClubs = new ArrayList<>();
+    private final HashSet<Facility> facilitySet = new HashSet<>();
+    private int totalCapacity;
+    private final int[] buildingCounts = new int[BuildingType.values().length];
+    private final int[] levelSums = new int[BuildingType.values().length];
+    private final int[] capacities = new int[BuildingType.values().length];
+    private final UpgradePlanner upgradePlanner = new UpgradePlanner();
+    private final LevelListener capacityTracker = (building, previousCapacity) -> {
+        int type = building.getBuildingType().ordinal();
+        capacities[type] += building.getCapacity() - previousCapacity;
+        totalCapacity += building.getCapacity() - previousCapacity;
+        levelSums[type]++;
+    };
+    private final EventSink events;
+    private final SusuLeague susuLeague;
 
+    /**
+     * Constructs an empty estate whose SUSU league table draws from a randomly seeded stream.
+     */
     public Estate() {
+        this(new SimulationRandom(), TextEventSink.console());
+    }
+
+    /**
+     * Constructs an empty estate. The league table of the SUSU clubs gets its own stream split from
+     * the given one, and every SUSU club that is added shares it.
+     *
+     * @param random The random stream of the estate.
+     * @param events The sink receiving the events of the buildings of the estate.
+     */
+    public Estate(SimulationRandom random, EventSink events) {
+        this.events = events;
+        this.susuLeague = new SusuLeague(random.split());
     }
 
     /**
@@ -23,28 +60,163 @@ public class Estate {
      * @return The newly created Facility object if the type is valid, otherwise, returns null.
      */
     public Facility addFacility(String type, String name){
-        Facility newFacility;
-        if ("Hall".equalsIgnoreCase(type)){
-            newFacility = new Hall(name);
-            facilities.add(newFacility);
+        BuildingType buildingType = BuildingType.parse(type);
+        if (buildingType == null) {
+            return null;
         }
-        else if ("Theatre".equalsIgnoreCase(type)){
-            newFacility = new Theatre(name);
-            facilities.add(newFacility);
+        return addFacility(buildingType, name);
+    }
+
+    /**
+     * Adds a new facility of the given type to the estate. A SUSU club is also added to the list of clubs.
+     *
+     * @param type The type of the facility.
+     * @param name The name of the facility.
+     * @return The newly created facility.
+     */
+    public Facility addFacility(BuildingType type, String name) {
+        BuildingAbstract building;
+        switch (type) {
+            case HALL:
+                building = new Hall(name);
+                break;
+            case LAB:
+                building = new Lab(name);
+                break;
+            case THEATRE:
+                building = new Theatre(name);
+                break;
+            case SUSU:
+                Susu club = susuLeague.found(name);
+                susuClubs.add(club);
+                building = club;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown building type " + type);
         }
-        else if ("Lab".equalsIgnoreCase(type)){
-            newFacility = new Lab(name);
-            facilities.add(newFacility);
+        int id = facilities.size();
+        facilities.add(building);
+        facilitySet.add(building);
+        building.setLevelListener((levelled, previousCapacity) -> {
+            capacityTracker.levelIncreased(levelled, previousCapacity);
+            upgradePlanner.levelIncreased(id);
+        });
+        building.setEventSink(events);
+        int index = type.ordinal();
+        capacities[index] += building.getCapacity();
+        totalCapacity += building.getCapacity();
+        buildingCounts[index]++;
+        levelSums[index] += building.getLevel();
+        upgradePlanner.add(id, building);
+        return building;
+    }
+
+    /**
+     * Writes the facilities of the estate, with their levels and club leagues, and the random stream
+     * of its league table.
+     *
+     * @param out The checkpoint to write to.
+     */
+    public void writeState(CheckpointOutput out) {
+        out.putInt(facilities.size());
+        for (Facility facility : facilities) {
+            Building building = (Building) facility;
+            out.putString(building.getType());
+            out.putString(building.getName());
+            out.putInt(building.getLevel());
+            if (building.getBuildingType() == BuildingType.SUSU) {
+                ((Susu) building).writeState(out);
+            }
         }
-        else if ("Susu".equalsIgnoreCase(type)){
-      newFacility = new Susu(name);
-            facilities.add(newFacility);
-            susuClubs.add((Susu) newFacility);
+        susuLeague.writeState(out);
+    }
+
+    /**
+     * Rebuilds the facilities written by {@link #writeState(CheckpointOutput)} into this empty estate.
+     *
+     * @param in The checkpoint to read from.
+     */
+    public void readState(CheckpointInput in) {
+        if (!facilities.isEmpty()) {
+            throw new IllegalStateException("Only an empty estate can be restored from a checkpoint");
         }
-        else{
-            return null;
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            String type = in.getString();
+            String name = in.getString();
+            int level = in.getInt();
+            Building building = (Building) addFacility(type, name);
+            for (int l = 1; l < level; l++) {
+                building.increaseLevel();
+            }
+            if (building.getBuildingType() == BuildingType.SUSU) {
+                ((Susu) building).readState(in);
+            }
         }
-        return newFacility;
+        susuLeague.readState(in);
+    }
+
+    /**
+     * Gets the number of buildings of a type. The counts are kept as running totals.
+     *
+     * @param type The type of building.
+     * @return The number of buildings of that type in the estate.
+     */
+    public int getNumberOfBuildings(BuildingType type) {
+        return buildingCounts[type.ordinal()];
+    }
+
+    /**
+     * Gets the sum of the levels of the buildings of a type. The sums are kept as running totals.
+     *
+     * @param type The type of building.
+     * @return The sum of the levels of the buildings of that type in the estate.
+     */
+    public int getLevelSum(BuildingType type) {
+        return levelSums[type.ordinal()];
+    }
+
+    /**
+     * Gets the total capacity of the buildings of a type. The capacities are kept as running totals.
+     *
+     * @param type The type of building.
+     * @return The sum of the capacities of the buildings of that type in the estate.
+     */
+    public int getCapacity(BuildingType type) {
+        return capacities[type.ordinal()];
+    }
+
+    /**
+     * Gets the building of a type whose next upgrade is the cheapest, so that if any upgrade of the
+     * type is affordable this one is. The candidates are kept in a priority queue that is updated on
+     * every build and upgrade, so this does not scan the facilities. Buildings at their maximum level
+     * are never returned.
+     *
+     * @param type The type of building.
+     * @return The cheapest building to upgrade, or null if no building of that type can be upgraded.
+     */
+    public BuildingAbstract getBestUpgrade(BuildingType type) {
+        return upgradePlanner.best(type);
+    }
+
+    /**
+     * Checks whether the given building is one of the facilities of this estate. This is a hash
+     * lookup, so it does not depend on the size of the estate.
+     *
+     * @param building The building to look for.
+     * @return True if the building is part of the estate, false otherwise.
+     */
+    public boolean hasFacility(Building building) {
+        return facilitySet.contains(building);
+    }
+
+    /**
+     * Gets the number of facilities in the estate without copying them.
+     *
+     * @return The number of facilities in the estate.
+     */
+    public int getNumberOfFacilities() {
+        return facilities.size();
     }
 
     /**
@@ -59,43 +231,47 @@ public class Estate {
     /**
      * Calculates and returns the total maintenance cost for all facilities in the estate.
      *
-     * The maintenance cost is calculated as 0.1 times the capacity of each building facility.
+     * The maintenance cost is calculated as 0.1 times the capacity of each building facility. The
+     * capacity is kept as a running total, so this does not scan the facilities.
      *
      * @return The total maintenance cost for all facilities in the estate.
      */
     public float getMaintenanceCost(){
-        float maintenanceCost = 0;
-        for (Facility facility : facilities) {
-            maintenanceCost += (float) 0.1 * ((Building) facility).getCapacity();
-        }
-        return maintenanceCost;
+        return (float) Ledger.toCoins(getMaintenanceCostCents());
+    }
 
+    /**
+     * Gets the maintenance cost of the estate in cents: a tenth of a coin for every place. The capacity
+     * is kept as a running total, so this does not scan the facilities.
+     *
+     * @return The maintenance cost in cents.
+     */
+    public long getMaintenanceCostCents() {
+        return 10L * totalCapacity;
     }
     /**
-     * Calculates and returns the minimum capacity among all facility types (Hall, Lab, Theatre) in the estate.
+     * Returns the minimum capacity among all facility types (Hall, Lab, Theatre) in the estate. The
+     * capacities are kept as running totals, so this does not scan the facilities.
      *
      * @return The minimum capacity among Hall, Lab, Theatre, and Susu facilities in the estate.
      */
     public int getNumberOfStudents() {
-        int theatreCapacity = 0;
-        int labCapacity = 0;
-        int hallCapacity = 0;
-
-        for (Facility facility : facilities) {
-            if (facility instanceof Hall) {
-                hallCapacity += (((Hall) facility).getCapacity());
-            } else if (facility instanceof Lab) {
-                labCapacity += ((Lab) facility).getCapacity();
-            } else if (facility instanceof Theatre) {
-                theatreCapacity += ((Theatre) facility).getCapacity();
-            }
-        }
-        return Math.min(hallCapacity, Math.min(labCapacity, theatreCapacity));
+        return Math.min(capacities[BuildingType.HALL.ordinal()],
+                Math.min(capacities[BuildingType.LAB.ordinal()], capacities[BuildingType.THEATRE.ordinal()]));
     }
     public Susu[] getSusuClubs(){
         return susuClubs.toArray(new Susu[0]);
     }
 
+    /**
+     * Gets the league table of the SUSU clubs of the estate, which plays their seasons.
+     *
+     * @return The league table, with the clubs in the order they were added.
+     */
+    public SusuLeague getSusuLeague() {
+        return susuLeague;
+    }
+
 
 
 }
@@ -0,0 +1,73 @@
+package university;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * A staff market that reads its candidates from a staff file as they are hired. Only the next
+ * candidate is held in memory, so markets of any size can be used.
+ */
+public class FileStaffMarket implements StaffMarket, Closeable {
+    private final StaffFileReader reader;
+    private boolean hasNext;
+
+    /**
+     * Opens a market on the given staff file.
+     *
+     * @param path The path of the staff file.
+     * @throws IOException If the file cannot be opened or its first line is malformed.
+     */
+    public FileStaffMarket(Path path) throws IOException {
+        reader = new StaffFileReader(path);
+        hasNext = reader.next();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public Staff next() throws IOException {
+        if (!hasNext) {
+            throw new NoSuchElementException("The staff market is empty");
+        }
+        Staff candidate = new Staff(reader.getName(), reader.getSkill());
+        hasNext = reader.next();
+        return candidate;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        seek(0);
+    }
+
+    /**
+     * Gets the byte offset in the staff file of the next candidate, or of the end of the file if
+     * there are no candidates left.
+     *
+     * @return The byte offset of the next candidate.
+     */
+    @Override
+    public long getPosition() {
+        return hasNext ? reader.getRecordOffset() : reader.getOffset();
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        reader.seek(position);
+        hasNext = reader.next();
+    }
+
+    /**
+     * Closes the staff file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,167 @@
+package university;
+
+import java.util.Arrays;
+import simulation.EventSink;
+
+/**
+ * Stores the employed staff as parallel primitive arrays on the heap. Every employee keeps its Staff
+ * object, which holds its slot index and reads and writes its state through the roster for as long
+ * as it is employed.
+ */
+class HeapStaffRoster extends StaffRoster {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Staff[] members = new Staff[INITIAL_CAPACITY];
+    private int[] skill = new int[INITIAL_CAPACITY];
+    private int[] stamina = new int[INITIAL_CAPACITY];
+    private int[] yearsOfTeaching = new int[INITIAL_CAPACITY];
+    private float[] salary = new float[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Constructs an empty roster.
+     *
+     * @param events Sink receiving the teaching events of the roster.
+     */
+    HeapStaffRoster(EventSink events) {
+        super(events);
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a staff member to the roster, copying their current state into the arrays. From now on the
+     * staff member reads and writes its state through the roster.
+     *
+     * @param staff  Staff member to add.
+     * @param salary Salary of the staff member.
+     * @return The slot index of the new employee.
+     */
+    @Override
+    int add(Staff staff, float salary) {
+        if (staff.roster != null) {
+            throw new IllegalArgumentException(staff.getName() + " is already employed");
+        }
+        if (size == members.length) {
+            int capacity = size * 2;
+            members = Arrays.copyOf(members, capacity);
+            skill = Arrays.copyOf(skill, capacity);
+            stamina = Arrays.copyOf(stamina, capacity);
+            yearsOfTeaching = Arrays.copyOf(yearsOfTeaching, capacity);
+            this.salary = Arrays.copyOf(this.salary, capacity);
+        }
+        int index = size++;
+        members[index] = staff;
+        skill[index] = staff.getSkill();
+        stamina[index] = staff.getStamina();
+        yearsOfTeaching[index] = staff.getYearsOfTeaching();
+        this.salary[index] = salary;
+        totalSalaryCents += Ledger.toCents(salary);
+        staff.roster = this;
+        staff.index = index;
+        return index;
+    }
+
+    /**
+     * Removes the employee at the given slot. The last employee is moved into the freed slot, and the
+     * removed staff member keeps a copy of its final state.
+     *
+     * @param index Slot index of the employee to remove.
+     */
+    @Override
+    void removeAt(int index) {
+        Staff removed = members[index];
+        if (removed.roster == this) {
+            removed.detach(skill[index], stamina[index], yearsOfTeaching[index]);
+        }
+        totalSalaryCents -= Ledger.toCents(salary[index]);
+        int last = --size;
+        if (index != last) {
+            members[index] = members[last];
+            skill[index] = skill[last];
+            stamina[index] = stamina[last];
+            yearsOfTeaching[index] = yearsOfTeaching[last];
+            salary[index] = salary[last];
+            members[index].index = index;
+        }
+        members[last] = null;
+    }
+
+    @Override
+    Staff get(int index) {
+        return members[index];
+    }
+
+    @Override
+    String getName(int index) {
+        return members[index].getName();
+    }
+
+    @Override
+    int getSkill(int index) {
+        return skill[index];
+    }
+
+    @Override
+    int getStamina(int index) {
+        return stamina[index];
+    }
+
+    @Override
+    int getYearsOfTeaching(int index) {
+        return yearsOfTeaching[index];
+    }
+
+    @Override
+    float getSalary(int index) {
+        return salary[index];
+    }
+
+    @Override
+    void setSkill(int index, int skill) {
+        this.skill[index] = skill;
+    }
+
+    @Override
+    void setStamina(int index, int stamina) {
+        this.stamina[index] = stamina;
+    }
+
+    @Override
+    void setYearsOfTeaching(int index, int yearsOfTeaching) {
+        this.yearsOfTeaching[index] = yearsOfTeaching;
+    }
+
+    @Override
+    void setSalary(int index, float salary) {
+        totalSalaryCents += Ledger.toCents(salary) - Ledger.toCents(this.salary[index]);
+        this.salary[index] = salary;
+    }
+
+    @Override
+    int teach(int from, int to, int numberOfStudents) {
+        int reputation = 0;
+        int reputationDivisor = 100 + numberOfStudents;
+        int[] skill = this.skill;
+        int[] stamina = this.stamina;
+        for (int i = from; i < to; i++) {
+            int currentSkill = skill[i];
+            int grownSkill = currentSkill < 100 ? currentSkill + 1 : currentSkill;
+            int groupSize = 20 + currentSkill;
+            stamina[i] -= (numberOfStudents + groupSize - 1) / groupSize * 20;
+            skill[i] = grownSkill;
+            reputation += 100 * grownSkill / reputationDivisor;
+        }
+        return reputation;
+    }
+
+    @Override
+    void replenishStamina() {
+        for (int i = 0; i < size; i++) {
+            stamina[i] = Math.min(stamina[i] + 20, 100);
+        }
+    }
+}
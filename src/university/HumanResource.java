@@ -1,33 +1,103 @@
 package university;
 
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.Map;
-import java.util.random.RandomGenerator;
+import java.util.NoSuchElementException;
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.EventSink;
+import simulation.SimulationRandom;
+import simulation.TextEventSink;
 
 /** Manages the human resources of the university, including staff and their salaries. */
 public class HumanResource {
-  HashMap<Staff, Float> staffSalary = new HashMap<>(); // salary of staff
+  private StaffRoster roster; // staff and their salaries
+  private final SimulationRandom random; // used to choose salaries
+  private final EventSink events;
 
   /** Creates a new instance of HumanResource. */
-  public HumanResource() {}
+  public HumanResource() {
+    this(new SimulationRandom(), TextEventSink.console());
+  }
+
+  /**
+   * Creates a new instance of HumanResource which chooses salaries with the given random stream.
+   *
+   * @param random Random stream used to choose salaries.
+   * @param events Sink receiving the hiring and teaching events.
+   */
+  public HumanResource(SimulationRandom random, EventSink events) {
+    this.random = random;
+    this.events = events;
+    this.roster = StaffRoster.create(RosterStorage.HEAP, events);
+  }
+
+  /**
+   * Chooses where the staff records are kept, moving any staff members already hired. Staff are
+   * kept on the heap unless chosen otherwise.
+   *
+   * @param storage Where to keep the staff records.
+   */
+  public void setStorage(RosterStorage storage) {
+    StaffRoster moved = StaffRoster.create(storage, events);
+    roster.moveTo(moved);
+    roster = moved;
+  }
 
   /**
-   * Retrieves an iterator over the staff members.
+   * Retrieves an iterator over the staff members. Removing a staff member through the iterator
+   * moves the last staff member into its place, and that staff member is returned next. With
+   * off-heap storage every staff member returned is created for the call, and {@link #cursor()}
+   * avoids that.
    *
    * @return Iterator over the staff members.
    */
   public Iterator<Staff> getStaff() {
-    return staffSalary.keySet().iterator();
+    return new Iterator<>() {
+      private int cursor;
+      private Staff current;
+
+      @Override
+      public boolean hasNext() {
+        return cursor < roster.size();
+      }
+
+      @Override
+      public Staff next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        current = roster.get(cursor++);
+        return current;
+      }
+
+      @Override
+      public void remove() {
+        if (current == null) {
+          throw new IllegalStateException();
+        }
+        cursor--;
+        roster.remove(current);
+        current = null;
+      }
+    };
+  }
+
+  /**
+   * Creates a cursor over the staff members, reading and changing their records in place.
+   *
+   * @return Cursor before the first staff member.
+   */
+  public StaffCursor cursor() {
+    return new StaffCursor(roster);
   }
 
   /**
-   * Gets the number of staff members in staffSalary.
+   * Gets the number of staff members.
    *
    * @return Number of staff members.
    */
   public int getStaffSize() {
-    return staffSalary.size();
+    return roster.size();
   }
 
   /**
@@ -37,9 +107,9 @@ public class HumanResource {
    * @param staff Staff member to add
    */
   public void addStaff(Staff staff) {
-    float salary = RandomGenerator.getDefault().nextFloat(0.095F, 0.105F) * (staff.getSkill());
-    staffSalary.put(staff, salary);
-    System.out.println(staff.getName() + "has been hired. Salary: " + salary);
+    float salary = random.nextFloat(0.095F, 0.105F) * (staff.getSkill());
+    roster.add(staff, salary);
+    events.staffHired(staff.getName(), salary);
   }
 
   /**
@@ -48,22 +118,53 @@ public class HumanResource {
    * @return Total salary of all staff members.
    */
   public float getTotalSalary() {
-    float totalSalary = 0;
-    for (float salary : staffSalary.values()) {
-      totalSalary += salary;
-    }
-    return totalSalary;
+    return (float) Ledger.toCoins(roster.totalSalaryCents());
+  }
+
+  /**
+   * Gets the total salary of all staff members in cents, each salary rounded to the nearest cent.
+   * The total is kept as staff are hired and leave, so this does not scan the roster.
+   *
+   * @return Total salary of all staff members in cents.
+   */
+  public long getTotalSalaryCents() {
+    return roster.totalSalaryCents();
+  }
+
+  /**
+   * Instructs the students of a year. Staff members each instruct up to the given number of
+   * students in roster order until every student has been instructed.
+   *
+   * @param numberOfStudents Number of students to instruct.
+   * @param maxNumberStudentsEachStaff Maximum number of students each staff member instructs.
+   * @return The value which would be added onto the reputation of the university.
+   */
+  public int instruct(int numberOfStudents, int maxNumberStudentsEachStaff) {
+    return roster.instructAll(numberOfStudents, maxNumberStudentsEachStaff);
   }
 
   /**
-   * Replenishes the stamina of all staff members.
+   * Writes the staff members, their state and salaries, and the random stream choosing salaries.
    *
-   * @param staffSalary Map of staff members and their salaries.
+   * @param out The checkpoint to write to.
    */
-  public void replenishStamina(HashMap<Staff, Float> staffSalary) {
-    for (Map.Entry<Staff, Float> entry : staffSalary.entrySet()) {
-      Staff staff = entry.getKey();
-      staff.replenishStamina();
-    }
+  public void writeState(CheckpointOutput out) {
+    roster.writeState(out);
+    random.writeState(out);
+  }
+
+  /**
+   * Restores the staff written by {@link #writeState(CheckpointOutput)} into this empty roster.
+   *
+   * @param in The checkpoint to read from.
+   */
+  public void readState(CheckpointInput in) {
+    roster.readState(in);
+    random.readState(in);
+  }
+
+  /** Replenishes the stamina of all staff members. */
+  public void replenishStamina() {
+    roster.replenishStamina();
   }
 }
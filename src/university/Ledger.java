@@ -0,0 +1,143 @@
+package university;
+
+import java.util.Arrays;
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+
+/**
+ * Keeps the budget of a university as a whole number of hundredths of a coin, so that it never drifts
+ * or loses coins however large it grows. Debits and credits are posted to a category during the year
+ * and held as pending per category; at the end of the year they are committed to the balance in one
+ * transaction, and the totals of that year stay available per category.
+ *
+ * <p>The pending postings count towards the available budget straight away, so every decision during
+ * the year sees what has already been spent.
+ */
+public class Ledger {
+    /** The number of cents in a coin. */
+    public static final int CENTS = 100;
+
+    private static final LedgerCategory[] CATEGORIES = LedgerCategory.values();
+
+    private long balance;
+    private long pendingTotal;
+    private final long[] pending = new long[CATEGORIES.length];
+    private final long[] committed = new long[CATEGORIES.length];
+
+    /**
+     * Constructs a ledger with an opening balance.
+     *
+     * @param openingBalance The opening balance in cents.
+     */
+    public Ledger(long openingBalance) {
+        this.balance = openingBalance;
+    }
+
+    /**
+     * Converts an amount of coins to cents, rounding to the nearest cent.
+     *
+     * @param coins The amount in coins.
+     * @return The amount in cents.
+     */
+    public static long toCents(double coins) {
+        return Math.round(coins * CENTS);
+    }
+
+    /**
+     * Converts an amount of cents to coins.
+     *
+     * @param cents The amount in cents.
+     * @return The amount in coins.
+     */
+    public static double toCoins(long cents) {
+        return (double) cents / CENTS;
+    }
+
+    /**
+     * Posts a credit or debit to a category, pending until the next {@link #commit()}.
+     *
+     * @param category The category of the posting.
+     * @param cents    The amount in cents, positive for a credit and negative for a debit.
+     */
+    public void post(LedgerCategory category, long cents) {
+        pending[category.ordinal()] += cents;
+        pendingTotal += cents;
+    }
+
+    /**
+     * Commits the pending postings to the balance in one transaction. Their totals per category
+     * replace those of the previous commit.
+     */
+    public void commit() {
+        balance += pendingTotal;
+        pendingTotal = 0;
+        System.arraycopy(pending, 0, committed, 0, pending.length);
+        Arrays.fill(pending, 0);
+    }
+
+    /**
+     * Gets the budget available to spend: the balance with the pending postings.
+     *
+     * @return The available budget in cents.
+     */
+    public long getAvailable() {
+        return balance + pendingTotal;
+    }
+
+    /**
+     * Gets the balance as of the last commit.
+     *
+     * @return The balance in cents.
+     */
+    public long getBalance() {
+        return balance;
+    }
+
+    /**
+     * Gets the total pending in a category since the last commit.
+     *
+     * @param category The category.
+     * @return The pending total in cents, negative for debits.
+     */
+    public long getPending(LedgerCategory category) {
+        return pending[category.ordinal()];
+    }
+
+    /**
+     * Gets the total of a category in the last commit.
+     *
+     * @param category The category.
+     * @return The committed total in cents, negative for debits, or 0 before the first commit.
+     */
+    public long getCommitted(LedgerCategory category) {
+        return committed[category.ordinal()];
+    }
+
+    /**
+     * Writes the balance and the pending and committed totals of every category.
+     *
+     * @param out The checkpoint to write to.
+     */
+    public void writeState(CheckpointOutput out) {
+        out.putLong(balance);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            out.putLong(pending[i]);
+            out.putLong(committed[i]);
+        }
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(CheckpointOutput)}.
+     *
+     * @param in The checkpoint to read from.
+     */
+    public void readState(CheckpointInput in) {
+        balance = in.getLong();
+        pendingTotal = 0;
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            pending[i] = in.getLong();
+            committed[i] = in.getLong();
+            pendingTotal += pending[i];
+        }
+    }
+}
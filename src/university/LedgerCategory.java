@@ -0,0 +1,28 @@
+package university;
+
+/**
+ * The categories of the postings to the budget of a university, see {@link Ledger}.
+ */
+public enum LedgerCategory {
+    INCOME("income"),
+    BUILDING("building"),
+    UPGRADE("upgrade"),
+    SALARY("salary"),
+    MAINTENANCE("maintenance"),
+    SUSU("susu");
+
+    private final String label;
+
+    LedgerCategory(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the name of the category used in reports.
+     *
+     * @return The name of the category.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,59 @@
+package university;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A staff market over a list of already parsed candidates. The list is only read, so one parsed
+ * staff file can back the markets of many simulations at once, each market keeping its own cursor.
+ */
+public class ListStaffMarket implements StaffMarket {
+    private final List<Staff> candidates;
+    private int cursor;
+
+    /**
+     * Constructs a market over the given candidates, which are copied as they are hired.
+     *
+     * @param candidates The candidates in hiring order.
+     */
+    public ListStaffMarket(List<Staff> candidates) {
+        this.candidates = candidates;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return cursor < candidates.size();
+    }
+
+    @Override
+    public Staff next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("The staff market is empty");
+        }
+        Staff candidate = candidates.get(cursor++);
+        return new Staff(candidate.getName(), candidate.getSkill());
+    }
+
+    @Override
+    public void reset() {
+        cursor = 0;
+    }
+
+    /**
+     * Gets the index of the next candidate in the list.
+     *
+     * @return The index of the next candidate.
+     */
+    @Override
+    public long getPosition() {
+        return cursor;
+    }
+
+    @Override
+    public void seek(long position) {
+        if (position < 0 || position > candidates.size()) {
+            throw new IllegalArgumentException("Position " + position + " is outside the staff market");
+        }
+        cursor = (int) position;
+    }
+}
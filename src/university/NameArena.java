@@ -0,0 +1,138 @@
+package university;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An append-only arena of interned names in direct memory. Every distinct name is stored once as its
+ * length followed by its UTF-8 bytes, and is referred to by the offset of that entry. The intern
+ * table only holds the offsets, so the names themselves never live on the heap.
+ *
+ * <p>Entries are never freed: a name stays in the arena after its staff member has left, and is
+ * reused if the same name is interned again.
+ */
+class NameArena {
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final int INITIAL_TABLE_SIZE = 1 << 8;
+
+    private ByteBuffer bytes = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+    private int length;
+    private int[] table = new int[INITIAL_TABLE_SIZE]; // entry offset + 1 per slot, 0 if empty
+    private int entries;
+
+    /**
+     * Gets the entry of a name, adding it to the arena if it is not there yet.
+     *
+     * @param name The name to intern.
+     * @return The offset of the entry of the name.
+     */
+    int intern(String name) {
+        byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(encoded);
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        for (int entry = table[slot]; entry != 0; entry = table[slot]) {
+            if (matches(entry - 1, encoded)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int offset = append(encoded);
+        table[slot] = offset + 1;
+        if (++entries * 2 > table.length) {
+            rehash();
+        }
+        return offset;
+    }
+
+    /**
+     * Decodes the name of an entry.
+     *
+     * @param offset The offset of the entry, as returned by {@link #intern(String)}.
+     * @return The name.
+     */
+    String get(int offset) {
+        byte[] encoded = new byte[bytes.getInt(offset)];
+        bytes.get(offset + Integer.BYTES, encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a new entry to the arena, growing it if needed.
+     *
+     * @param encoded The UTF-8 bytes of the name.
+     * @return The offset of the new entry.
+     */
+    private int append(byte[] encoded) {
+        int needed = length + Integer.BYTES + encoded.length;
+        if (needed < 0) {
+            throw new IllegalStateException("The name arena is full");
+        }
+        if (needed > bytes.capacity()) {
+            int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(needed, 2L * bytes.capacity()));
+            ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+            grown.put(0, bytes, 0, length);
+            bytes = grown;
+        }
+        int offset = length;
+        bytes.putInt(offset, encoded.length);
+        bytes.put(offset + Integer.BYTES, encoded);
+        length = needed;
+        return offset;
+    }
+
+    /**
+     * Checks whether an entry holds the given name.
+     *
+     * @param offset  The offset of the entry.
+     * @param encoded The UTF-8 bytes of the name.
+     * @return True if the entry holds exactly these bytes.
+     */
+    private boolean matches(int offset, byte[] encoded) {
+        if (bytes.getInt(offset) != encoded.length) {
+            return false;
+        }
+        int start = offset + Integer.BYTES;
+        for (int i = 0; i < encoded.length; i++) {
+            if (bytes.get(start + i) != encoded[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Doubles the intern table, placing every entry again.
+     */
+    private void rehash() {
+        int[] grown = new int[table.length * 2];
+        int mask = grown.length - 1;
+        for (int entry : table) {
+            if (entry != 0) {
+                int size = bytes.getInt(entry - 1);
+                byte[] encoded = new byte[size];
+                bytes.get(entry - 1 + Integer.BYTES, encoded);
+                int slot = hash(encoded) & mask;
+                while (grown[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                grown[slot] = entry;
+            }
+        }
+        table = grown;
+    }
+
+    /**
+     * Hashes the bytes of a name, spreading the bits so that the low bits can index the table.
+     *
+     * @param encoded The UTF-8 bytes of the name.
+     * @return The hash.
+     */
+    private static int hash(byte[] encoded) {
+        int hash = 1;
+        for (byte b : encoded) {
+            hash = 31 * hash + b;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
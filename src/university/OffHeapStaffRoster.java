@@ -0,0 +1,190 @@
+package university;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import simulation.EventSink;
+
+/**
+ * Stores the employed staff as fixed-layout records in direct memory, outside the Java heap, so that
+ * its records are never scanned or moved by the garbage collector. A record is the skill, stamina,
+ * years of teaching, salary and the offset of the name in a {@link NameArena}.
+ *
+ * <p>Direct memory has a limit of its own, {@code -XX:MaxDirectMemorySize}, which defaults to the
+ * maximum heap size. Growing the roster copies the records into a buffer twice the size, and the
+ * old buffer is only released by a later garbage collection, so a roster of {@code n} staff can need
+ * {@code 60 * n} bytes of direct memory at once, plus its names. Rosters of tens of millions of staff
+ * need the limit raised, for example {@code -XX:MaxDirectMemorySize=4g}. A roster holds at most
+ * {@link #MAX_CAPACITY} staff, about 107 million, as a buffer is indexed by an int.
+ *
+ * <p>The roster keeps no Staff objects. Hiring copies the state of the new staff member, and
+ * {@link #get(int)} creates a new Staff object bound to the slot each time it is called, which
+ * stays valid until an employee is removed. Teaching and stamina replenishment work on the records
+ * directly.
+ */
+class OffHeapStaffRoster extends StaffRoster {
+    private static final int SKILL = 0;
+    private static final int STAMINA = 4;
+    private static final int YEARS_OF_TEACHING = 8;
+    private static final int SALARY = 12;
+    private static final int NAME = 16;
+    private static final int RECORD_SIZE = 20;
+    private static final int INITIAL_CAPACITY = 1024;
+    /** The most records a buffer indexed by an int can hold. */
+    static final int MAX_CAPACITY = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private ByteBuffer records = allocate(INITIAL_CAPACITY);
+    private int capacity = INITIAL_CAPACITY;
+    private int size;
+    private final NameArena names = new NameArena();
+
+    /**
+     * Constructs an empty roster.
+     *
+     * @param events Sink receiving the teaching events of the roster.
+     */
+    OffHeapStaffRoster(EventSink events) {
+        super(events);
+    }
+
+    /**
+     * Allocates direct memory for a number of records.
+     *
+     * @param capacity Number of records.
+     * @return The zeroed records, in the native byte order.
+     */
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * RECORD_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a staff member to the roster by copying their current state into a new record. The staff
+     * member itself is not kept and is not bound to the roster.
+     *
+     * @param staff  Staff member to add.
+     * @param salary Salary of the staff member.
+     * @return The slot index of the new employee.
+     */
+    @Override
+    int add(Staff staff, float salary) {
+        if (staff.roster != null) {
+            throw new IllegalArgumentException(staff.getName() + " is already employed");
+        }
+        if (size == capacity) {
+            if (capacity == MAX_CAPACITY) {
+                throw new IllegalStateException("The roster cannot hold more than " + capacity + " staff");
+            }
+            int grownCapacity = (int) Math.min(MAX_CAPACITY, 2L * capacity);
+            ByteBuffer grown = allocate(grownCapacity);
+            grown.put(0, records, 0, size * RECORD_SIZE);
+            records = grown;
+            capacity = grownCapacity;
+        }
+        int index = size++;
+        int record = index * RECORD_SIZE;
+        records.putInt(record + SKILL, staff.getSkill());
+        records.putInt(record + STAMINA, staff.getStamina());
+        records.putInt(record + YEARS_OF_TEACHING, staff.getYearsOfTeaching());
+        records.putFloat(record + SALARY, salary);
+        records.putInt(record + NAME, names.intern(staff.getName()));
+        totalSalaryCents += Ledger.toCents(salary);
+        return index;
+    }
+
+    /**
+     * Removes the employee at the given slot by copying the last record into it.
+     *
+     * @param index Slot index of the employee to remove.
+     */
+    @Override
+    void removeAt(int index) {
+        totalSalaryCents -= Ledger.toCents(getSalary(index));
+        int last = --size;
+        if (index != last) {
+            records.put(index * RECORD_SIZE, records, last * RECORD_SIZE, RECORD_SIZE);
+        }
+    }
+
+    @Override
+    Staff get(int index) {
+        Staff staff = new Staff(getName(index), getSkill(index));
+        staff.roster = this;
+        staff.index = index;
+        return staff;
+    }
+
+    @Override
+    String getName(int index) {
+        return names.get(records.getInt(index * RECORD_SIZE + NAME));
+    }
+
+    @Override
+    int getSkill(int index) {
+        return records.getInt(index * RECORD_SIZE + SKILL);
+    }
+
+    @Override
+    int getStamina(int index) {
+        return records.getInt(index * RECORD_SIZE + STAMINA);
+    }
+
+    @Override
+    int getYearsOfTeaching(int index) {
+        return records.getInt(index * RECORD_SIZE + YEARS_OF_TEACHING);
+    }
+
+    @Override
+    float getSalary(int index) {
+        return records.getFloat(index * RECORD_SIZE + SALARY);
+    }
+
+    @Override
+    void setSkill(int index, int skill) {
+        records.putInt(index * RECORD_SIZE + SKILL, skill);
+    }
+
+    @Override
+    void setStamina(int index, int stamina) {
+        records.putInt(index * RECORD_SIZE + STAMINA, stamina);
+    }
+
+    @Override
+    void setYearsOfTeaching(int index, int yearsOfTeaching) {
+        records.putInt(index * RECORD_SIZE + YEARS_OF_TEACHING, yearsOfTeaching);
+    }
+
+    @Override
+    void setSalary(int index, float salary) {
+        totalSalaryCents += Ledger.toCents(salary) - Ledger.toCents(getSalary(index));
+        records.putFloat(index * RECORD_SIZE + SALARY, salary);
+    }
+
+    @Override
+    int teach(int from, int to, int numberOfStudents) {
+        ByteBuffer records = this.records;
+        int reputation = 0;
+        int reputationDivisor = 100 + numberOfStudents;
+        for (int record = from * RECORD_SIZE, end = to * RECORD_SIZE; record < end; record += RECORD_SIZE) {
+            int currentSkill = records.getInt(record + SKILL);
+            int grownSkill = currentSkill < 100 ? currentSkill + 1 : currentSkill;
+            int groupSize = 20 + currentSkill;
+            records.putInt(record + STAMINA,
+                    records.getInt(record + STAMINA) - (numberOfStudents + groupSize - 1) / groupSize * 20);
+            records.putInt(record + SKILL, grownSkill);
+            reputation += 100 * grownSkill / reputationDivisor;
+        }
+        return reputation;
+    }
+
+    @Override
+    void replenishStamina() {
+        ByteBuffer records = this.records;
+        for (int record = STAMINA, end = size * RECORD_SIZE; record < end; record += RECORD_SIZE) {
+            records.putInt(record, Math.min(records.getInt(record) + 20, 100));
+        }
+    }
+}
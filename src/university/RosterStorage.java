@@ -0,0 +1,14 @@
+package university;
+
+/**
+ * Where a university keeps the records of its employed staff.
+ */
+public enum RosterStorage {
+    /** Primitive arrays on the heap, with every employee keeping its Staff object. */
+    HEAP,
+    /**
+     * Fixed-layout records in direct memory, with the names in an interned arena. Bound by
+     * {@code -XX:MaxDirectMemorySize} rather than by the heap.
+     */
+    OFF_HEAP
+}
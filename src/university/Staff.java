@@ -9,6 +9,8 @@ public class Staff {
     private int yearsOfTeaching; //The number of years that the staff has  been employed by the university
     private int stamina; // A number between 0 and 100 representing the current stamina of the staff.
     private int newYearsOfTeaching;
+    StaffRoster roster; // The roster holding the state of the staff while they are employed, otherwise null
+    int index; // The slot of the staff in the roster
 
 
     /**
@@ -33,7 +35,9 @@ public class Staff {
      * @return The value which would be added onto the reputation of the university
      */
     public int instruct(int numberOfStudents) {
-
+        if (roster != null) {
+            return roster.instruct(index, numberOfStudents);
+        }
         int newStamina = stamina - (int) (Math.ceil((double) numberOfStudents / (20 + skill)) * 20);
         if (stamina < 0) {
             System.out.println(this.name + " cannot teach " + numberOfStudents + " students: Loses too much stamina (" + stamina + ")");
@@ -48,6 +52,10 @@ public class Staff {
      * Replenishes the stamina of the staff member.
      */
     public void replenishStamina() {
+        if (roster != null) {
+            roster.replenishStamina(index);
+            return;
+        }
         stamina += 20;
         if (stamina > 100) stamina = 100;
     }
@@ -55,14 +63,36 @@ public class Staff {
      * Increases the number of years of teaching.
      */
     public void increaseYearsOfTeaching() {
+        if (roster != null) {
+            roster.increaseYearsOfTeaching(index);
+            return;
+        }
         this.newYearsOfTeaching = yearsOfTeaching++;
     }
 
+    /**
+     * Copies the final state of the staff member out of the roster when they leave it.
+     *
+     * @param skill           Skill of the staff member.
+     * @param stamina         Stamina of the staff member.
+     * @param yearsOfTeaching Number of years of teaching of the staff member.
+     */
+    void detach(int skill, int stamina, int yearsOfTeaching) {
+        this.skill = skill;
+        this.stamina = stamina;
+        this.yearsOfTeaching = yearsOfTeaching;
+        this.newYearsOfTeaching = Math.max(0, yearsOfTeaching - 1);
+        this.roster = null;
+    }
+
     /**
      * Returns the skill of the staff member
      * @return int Skill of this Staff Member
      */
     public int getSkill() {
+        if (roster != null) {
+            return roster.getSkill(index);
+        }
         return this.skill;
     }
 
@@ -72,6 +102,9 @@ public class Staff {
      * @return Increased years of teaching.
      */
     public int getIncreaseYearsOfTeaching() {
+        if (roster != null) {
+            return Math.max(0, roster.getYearsOfTeaching(index) - 1);
+        }
         return this.newYearsOfTeaching;
     }
 
@@ -81,6 +114,9 @@ public class Staff {
      * @return Number of years of teaching.
      */
     public int getYearsOfTeaching() {
+        if (roster != null) {
+            return roster.getYearsOfTeaching(index);
+        }
         return yearsOfTeaching;
     }
 
@@ -90,6 +126,9 @@ public class Staff {
      * @return Current stamina.
      */
     public int getStamina() {
+        if (roster != null) {
+            return roster.getStamina(index);
+        }
         return stamina;
     }
 
@@ -103,6 +142,6 @@ public class Staff {
     }
     @Override
     public String toString() {
-        return name + skill;
+        return name + getSkill();
     }
 }
@@ -0,0 +1,97 @@
+package university;
+
+/**
+ * Walks over the employed staff of a university in roster order without creating Staff objects.
+ * Removing the current staff member moves the last staff member into its place, and that staff
+ * member is visited next.
+ */
+public class StaffCursor {
+    private final StaffRoster roster;
+    private int index = -1;
+    private boolean current;
+
+    /**
+     * Creates a cursor before the first staff member of a roster.
+     *
+     * @param roster The roster to walk over.
+     */
+    StaffCursor(StaffRoster roster) {
+        this.roster = roster;
+    }
+
+    /**
+     * Moves to the next staff member.
+     *
+     * @return True if there is a next staff member, false if every staff member has been visited.
+     */
+    public boolean next() {
+        if (index + 1 >= roster.size()) {
+            current = false;
+            return false;
+        }
+        index++;
+        current = true;
+        return true;
+    }
+
+    /**
+     * Gets the name of the current staff member.
+     *
+     * @return Name of the staff member.
+     */
+    public String getName() {
+        return roster.getName(currentIndex());
+    }
+
+    /**
+     * Gets the stamina of the current staff member.
+     *
+     * @return Current stamina.
+     */
+    public int getStamina() {
+        return roster.getStamina(currentIndex());
+    }
+
+    /**
+     * Gets the number of years of teaching of the current staff member.
+     *
+     * @return Number of years of teaching.
+     */
+    public int getYearsOfTeaching() {
+        return roster.getYearsOfTeaching(currentIndex());
+    }
+
+    /**
+     * Increases the number of years of teaching of the current staff member.
+     */
+    public void increaseYearsOfTeaching() {
+        roster.increaseYearsOfTeaching(currentIndex());
+    }
+
+    /**
+     * Replenishes the stamina of the current staff member, up to 100.
+     */
+    public void replenishStamina() {
+        roster.replenishStamina(currentIndex());
+    }
+
+    /**
+     * Removes the current staff member from the roster.
+     */
+    public void remove() {
+        roster.removeAt(currentIndex());
+        index--;
+        current = false;
+    }
+
+    /**
+     * @return The slot of the current staff member
+     * @throws IllegalStateException If there is no current staff member
+     */
+    private int currentIndex() {
+        if (!current) {
+            throw new IllegalStateException("The cursor is not on a staff member");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,32 @@
+package university;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a line of a staff file is not of the form Name(skill).
+ */
+public class StaffFileFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final long offset;
+
+    /**
+     * Constructs the exception for the malformed line starting at the given offset.
+     *
+     * @param offset The byte offset of the start of the malformed line in the staff file.
+     * @param reason What is wrong with the line.
+     */
+    public StaffFileFormatException(long offset, String reason) {
+        super("Malformed staff record at byte offset " + offset + ": " + reason);
+        this.offset = offset;
+    }
+
+    /**
+     * Gets the byte offset of the start of the malformed line.
+     *
+     * @return The byte offset in the staff file.
+     */
+    public long getOffset() {
+        return offset;
+    }
+}
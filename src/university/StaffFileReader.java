@@ -0,0 +1,222 @@
+package university;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Reads a staff file, one Name(skill) record per line, through a file channel. The records are read
+ * one at a time, so files of any size can be streamed without holding them in memory. The bytes are
+ * parsed directly without regular expressions, and the only object made per record is the name.
+ * Blank lines are skipped.
+ */
+public class StaffFileReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_SKILL_DIGITS = 9;
+
+    private static final int NAME = 0; // Reading the name, up to the opening bracket
+    private static final int SKILL = 1; // Reading the digits of the skill, up to the closing bracket
+    private static final int END = 2; // After the closing bracket, up to the end of the line
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] bytes = buffer.array();
+    private int position;
+    private int limit;
+    private long offset; // Offset in the file of bytes[position]
+    private byte[] nameBytes = new byte[64];
+    private long recordOffset;
+    private String name;
+    private int skill;
+
+    /**
+     * Opens a staff file for reading.
+     *
+     * @param path The path of the staff file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public StaffFileReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    /**
+     * Reads every record of a staff file and passes its name and skill to the given consumer.
+     *
+     * @param path     The path of the staff file.
+     * @param consumer The consumer of the name and skill of each record.
+     * @throws IOException If the file cannot be read or a line is malformed.
+     */
+    public static void read(Path path, ObjIntConsumer<String> consumer) throws IOException {
+        try (StaffFileReader reader = new StaffFileReader(path)) {
+            while (reader.next()) {
+                consumer.accept(reader.getName(), reader.getSkill());
+            }
+        }
+    }
+
+    /**
+     * Moves to the next record of the file.
+     *
+     * @return True if there is a next record, false at the end of the file.
+     * @throws StaffFileFormatException If the next line is malformed.
+     * @throws IOException              If the file cannot be read.
+     */
+    public boolean next() throws IOException {
+        int state = NAME;
+        int nameLength = 0;
+        int skillValue = 0;
+        int digits = 0;
+        long lineOffset = -1;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (state == END) {
+                    return complete(lineOffset, nameLength, skillValue);
+                }
+                if (lineOffset < 0) {
+                    return false;
+                }
+                throw new StaffFileFormatException(lineOffset, "unexpected end of file");
+            }
+            byte b = bytes[position++];
+            long byteOffset = offset++;
+            if (state == NAME) {
+                if (lineOffset < 0) {
+                    if (b == '\n' || b == '\r') {
+                        continue; // Blank line
+                    }
+                    lineOffset = byteOffset;
+                }
+                if (b == '(') {
+                    state = SKILL;
+                } else if (b == '\n') {
+                    throw new StaffFileFormatException(lineOffset, "missing '('");
+                } else {
+                    if (nameLength == nameBytes.length) {
+                        nameBytes = Arrays.copyOf(nameBytes, nameLength * 2);
+                    }
+                    nameBytes[nameLength++] = b;
+                }
+            } else if (state == SKILL) {
+                if (b >= '0' && b <= '9' && digits < MAX_SKILL_DIGITS) {
+                    skillValue = skillValue * 10 + (b - '0');
+                    digits++;
+                } else if (b == ')' && digits > 0) {
+                    state = END;
+                } else {
+                    throw new StaffFileFormatException(lineOffset, "the skill must be a number followed by ')'");
+                }
+            } else if (b == '\n') {
+                return complete(lineOffset, nameLength, skillValue);
+            } else if (b != '\r') {
+                throw new StaffFileFormatException(lineOffset, "unexpected text after ')'");
+            }
+        }
+    }
+
+    /**
+     * Makes the record that has just been read the current record.
+     *
+     * @param lineOffset The offset of the start of the record.
+     * @param nameLength The number of bytes of the name.
+     * @param skillValue The skill of the record.
+     * @return Always true.
+     */
+    private boolean complete(long lineOffset, int nameLength, int skillValue) {
+        recordOffset = lineOffset;
+        name = new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8);
+        skill = skillValue;
+        return true;
+    }
+
+    /**
+     * Reads the next block of the file into the buffer.
+     *
+     * @return True if any bytes were read, false at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    /**
+     * Moves back to the start of the file, so that the records can be read again.
+     *
+     * @throws IOException If the file cannot be read.
+     */
+    public void reset() throws IOException {
+        seek(0);
+    }
+
+    /**
+     * Moves to the given offset of the file, which must be the start of a line.
+     *
+     * @param fileOffset The byte offset to read the next record from.
+     * @throws IOException If the file cannot be read.
+     */
+    public void seek(long fileOffset) throws IOException {
+        channel.position(fileOffset);
+        position = 0;
+        limit = 0;
+        offset = fileOffset;
+    }
+
+    /**
+     * Gets the byte offset of the first byte that has not been read yet, which is where the record
+     * after the current one starts.
+     *
+     * @return The byte offset in the file.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the byte offset of the start of the current record.
+     *
+     * @return The byte offset in the file.
+     */
+    public long getRecordOffset() {
+        return recordOffset;
+    }
+
+    /**
+     * Gets the name of the current record.
+     *
+     * @return The name of the staff member.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the skill of the current record.
+     *
+     * @return The skill of the staff member.
+     */
+    public int getSkill() {
+        return skill;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
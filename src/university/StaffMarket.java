@@ -0,0 +1,62 @@
+package university;
+
+import java.io.IOException;
+
+/**
+ * The candidates a university can hire, in hiring order. Each call to {@link #next()} hands out a
+ * new Staff object, so candidates are never shared between the universities hiring them.
+ */
+public interface StaffMarket {
+
+    /**
+     * Checks whether there are candidates left.
+     *
+     * @return True if there is at least one more candidate, false otherwise.
+     */
+    boolean hasNext();
+
+    /**
+     * Takes the next candidate out of the market.
+     *
+     * @return The next candidate.
+     * @throws IOException If the candidate cannot be read.
+     * @throws java.util.NoSuchElementException If there are no candidates left.
+     */
+    Staff next() throws IOException;
+
+    /**
+     * Takes the next candidate out of the market if there is one. Unlike checking {@link #hasNext()}
+     * before calling {@link #next()}, this is a single step, so markets shared between universities
+     * can hand out every candidate to exactly one of them.
+     *
+     * @return The next candidate, or null if there are no candidates left.
+     * @throws IOException If the candidate cannot be read.
+     */
+    default Staff poll() throws IOException {
+        return hasNext() ? next() : null;
+    }
+
+    /**
+     * Puts every candidate back into the market, so that it can be used again from the start.
+     *
+     * @throws IOException If the market cannot be reopened.
+     */
+    void reset() throws IOException;
+
+    /**
+     * Gets the position of the next candidate, which can be saved and later passed to
+     * {@link #seek(long)} on a market over the same candidates.
+     *
+     * @return The position of the next candidate.
+     */
+    long getPosition();
+
+    /**
+     * Moves to a position returned by {@link #getPosition()}, so that the candidate at that position
+     * is hired next.
+     *
+     * @param position The position of the next candidate.
+     * @throws IOException If the market cannot be moved to the position.
+     */
+    void seek(long position) throws IOException;
+}
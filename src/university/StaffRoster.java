@@ -0,0 +1,334 @@
+package university;
+
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.EventSink;
+
+/**
+ * Stores the employed staff of a university, one dense slot per employee. Removal moves the last
+ * employee into the freed slot. The implementations differ in where the slots live: see
+ * {@link HeapStaffRoster} and {@link OffHeapStaffRoster}.
+ */
+abstract class StaffRoster {
+    protected final EventSink events;
+    protected long totalSalaryCents; // the salaries of all employees, each rounded to the nearest cent
+
+    /**
+     * Constructs an empty roster.
+     *
+     * @param events Sink receiving the teaching events of the roster.
+     */
+    protected StaffRoster(EventSink events) {
+        this.events = events;
+    }
+
+    /**
+     * Creates an empty roster with the given storage.
+     *
+     * @param storage Where the roster keeps its employees.
+     * @param events  Sink receiving the teaching events of the roster.
+     * @return The new roster.
+     */
+    static StaffRoster create(RosterStorage storage, EventSink events) {
+        switch (storage) {
+            case HEAP:
+                return new HeapStaffRoster(events);
+            case OFF_HEAP:
+                return new OffHeapStaffRoster(events);
+            default:
+                throw new IllegalArgumentException("Unknown roster storage " + storage);
+        }
+    }
+
+    /**
+     * Gets the number of employees in the roster.
+     *
+     * @return Number of employees.
+     */
+    abstract int size();
+
+    /**
+     * Adds a staff member to the roster, copying their current state into it.
+     *
+     * @param staff  Staff member to add.
+     * @param salary Salary of the staff member.
+     * @return The slot index of the new employee.
+     */
+    abstract int add(Staff staff, float salary);
+
+    /**
+     * Removes the employee at the given slot. The last employee is moved into the freed slot.
+     *
+     * @param index Slot index of the employee to remove.
+     */
+    abstract void removeAt(int index);
+
+    /**
+     * Removes a staff member that reads its state through this roster. The staff member keeps a copy
+     * of its final state.
+     *
+     * @param staff Staff member to remove, as returned by {@link #get(int)}.
+     */
+    void remove(Staff staff) {
+        int index = staff.index;
+        staff.detach(getSkill(index), getStamina(index), getYearsOfTeaching(index));
+        removeAt(index);
+    }
+
+    /**
+     * Gets the staff member at the given slot. The staff member reads and writes its state through
+     * the roster for as long as it stays in this slot.
+     *
+     * @param index Slot index.
+     * @return The staff member.
+     */
+    abstract Staff get(int index);
+
+    /**
+     * Gets the name of the employee at the given slot.
+     *
+     * @param index Slot index.
+     * @return The name of the employee.
+     */
+    abstract String getName(int index);
+
+    /**
+     * Gets the skill of the employee at the given slot.
+     *
+     * @param index Slot index.
+     * @return The skill of the employee.
+     */
+    abstract int getSkill(int index);
+
+    /**
+     * Gets the stamina of the employee at the given slot.
+     *
+     * @param index Slot index.
+     * @return The stamina of the employee.
+     */
+    abstract int getStamina(int index);
+
+    /**
+     * Gets the number of years of teaching of the employee at the given slot.
+     *
+     * @param index Slot index.
+     * @return The number of years of teaching of the employee.
+     */
+    abstract int getYearsOfTeaching(int index);
+
+    /**
+     * Gets the salary of the employee at the given slot.
+     *
+     * @param index Slot index.
+     * @return The salary of the employee.
+     */
+    abstract float getSalary(int index);
+
+    /**
+     * Sets the skill of the employee at the given slot.
+     *
+     * @param index Slot index.
+     * @param skill The new skill.
+     */
+    abstract void setSkill(int index, int skill);
+
+    /**
+     * Sets the stamina of the employee at the given slot.
+     *
+     * @param index   Slot index.
+     * @param stamina The new stamina.
+     */
+    abstract void setStamina(int index, int stamina);
+
+    /**
+     * Sets the number of years of teaching of the employee at the given slot.
+     *
+     * @param index           Slot index.
+     * @param yearsOfTeaching The new number of years of teaching.
+     */
+    abstract void setYearsOfTeaching(int index, int yearsOfTeaching);
+
+    /**
+     * Sets the salary of the employee at the given slot.
+     *
+     * @param index  Slot index.
+     * @param salary The new salary.
+     */
+    abstract void setSalary(int index, float salary);
+
+    /**
+     * Gets the total salary of all employees, each rounded to the nearest cent. The total is kept as
+     * employees are added and removed.
+     *
+     * @return Total salary in cents.
+     */
+    long totalSalaryCents() {
+        return totalSalaryCents;
+    }
+
+    /**
+     * Teaches the same positive number of students with a range of employees: drains their stamina,
+     * grows their skill and sums their reputation contribution. The ceiling of the division in
+     * {@link #instruct(int, int)} is computed as (n + d - 1) / d, which is exact for positive n and d.
+     *
+     * @param from             First slot index, inclusive.
+     * @param to               Last slot index, exclusive.
+     * @param numberOfStudents Number of students each employee instructs.
+     * @return The value which would be added onto the reputation of the university.
+     */
+    abstract int teach(int from, int to, int numberOfStudents);
+
+    /**
+     * Replenishes the stamina of every employee.
+     */
+    abstract void replenishStamina();
+
+    /**
+     * Writes every employee, in slot order.
+     *
+     * @param out The checkpoint to write to.
+     */
+    void writeState(CheckpointOutput out) {
+        int size = size();
+        out.putInt(size);
+        for (int i = 0; i < size; i++) {
+            out.putString(getName(i));
+            out.putInt(getSkill(i));
+            out.putInt(getStamina(i));
+            out.putInt(getYearsOfTeaching(i));
+            out.putFloat(getSalary(i));
+        }
+    }
+
+    /**
+     * Adds the employees written by {@link #writeState(CheckpointOutput)} to this empty roster.
+     *
+     * @param in The checkpoint to read from.
+     */
+    void readState(CheckpointInput in) {
+        if (size() != 0) {
+            throw new IllegalStateException("Only an empty roster can be restored from a checkpoint");
+        }
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            String name = in.getString();
+            int index = add(new Staff(name, in.getInt()), 0);
+            setStamina(index, in.getInt());
+            setYearsOfTeaching(index, in.getInt());
+            setSalary(index, in.getFloat());
+        }
+    }
+
+    /**
+     * Moves every employee, in slot order, into an empty roster with another storage. The employees
+     * are removed from this roster, so Staff objects bound to it keep a copy of their final state.
+     *
+     * @param target The roster to move the employees into.
+     */
+    void moveTo(StaffRoster target) {
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            int index = target.add(new Staff(getName(i), getSkill(i)), getSalary(i));
+            target.setStamina(index, getStamina(i));
+            target.setYearsOfTeaching(index, getYearsOfTeaching(i));
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            removeAt(i);
+        }
+    }
+
+    /**
+     * Instructs a number of students with the employee at the given slot, see {@link Staff#instruct(int)}.
+     *
+     * @param index            Slot index.
+     * @param numberOfStudents Number of students to instruct.
+     * @return The value which would be added onto the reputation of the university.
+     */
+    int instruct(int index, int numberOfStudents) {
+        int currentSkill = getSkill(index);
+        int currentStamina = getStamina(index);
+        int newStamina = currentStamina - (int) (Math.ceil((double) numberOfStudents / (20 + currentSkill)) * 20);
+        if (currentStamina < 0) {
+            events.staffOverworked(getName(index), numberOfStudents, currentStamina);
+        }
+        if (currentSkill < 100) {
+            currentSkill++;
+            setSkill(index, currentSkill);
+        }
+        setStamina(index, newStamina);
+        return (100 * currentSkill) / (100 + numberOfStudents);
+    }
+
+    /**
+     * Instructs the students of a year, giving each employee in slot order up to the given number of
+     * students until every student has been instructed.
+     *
+     * <p>The assignment is known up front: the first employees each get the maximum and the next one
+     * gets the rest. The employees with the same number of students are then taught in one pass with
+     * {@link #teach(int, int, int)}, which gives exactly the results of {@link #instruct(int, int)}
+     * called for every employee in turn.
+     *
+     * @param numberOfStudents           Number of students to instruct.
+     * @param maxNumberStudentsEachStaff Maximum number of students each employee instructs.
+     * @return The value which would be added onto the reputation of the university.
+     */
+    int instructAll(int numberOfStudents, int maxNumberStudentsEachStaff) {
+        if (maxNumberStudentsEachStaff <= 0) {
+            return instructEach(numberOfStudents, maxNumberStudentsEachStaff);
+        }
+        if (numberOfStudents <= 0) {
+            return 0;
+        }
+        int size = size();
+        int fullyLoaded = Math.min(size, numberOfStudents / maxNumberStudentsEachStaff);
+        int rest = numberOfStudents - fullyLoaded * maxNumberStudentsEachStaff;
+        int teaching = fullyLoaded < size && rest > 0 ? fullyLoaded + 1 : fullyLoaded;
+        for (int i = 0; i < teaching; i++) {
+            int stamina = getStamina(i);
+            if (stamina < 0) {
+                events.staffOverworked(getName(i), i < fullyLoaded ? maxNumberStudentsEachStaff : rest, stamina);
+            }
+        }
+        int reputation = teach(0, fullyLoaded, maxNumberStudentsEachStaff);
+        if (teaching > fullyLoaded) {
+            reputation += teach(fullyLoaded, teaching, rest);
+        }
+        return reputation;
+    }
+
+    /**
+     * Instructs the students of a year one employee at a time with {@link #instruct(int, int)}.
+     *
+     * @param numberOfStudents           Number of students to instruct.
+     * @param maxNumberStudentsEachStaff Maximum number of students each employee instructs.
+     * @return The value which would be added onto the reputation of the university.
+     */
+    int instructEach(int numberOfStudents, int maxNumberStudentsEachStaff) {
+        int reputation = 0;
+        int remainingStudents = numberOfStudents;
+        for (int i = 0; i < size() && remainingStudents > 0; i++) {
+            int studentsToInstruct = Math.min(maxNumberStudentsEachStaff, remainingStudents);
+            remainingStudents -= studentsToInstruct;
+            reputation += instruct(i, studentsToInstruct);
+        }
+        return reputation;
+    }
+
+    /**
+     * Replenishes the stamina of the employee at the given slot, up to 100.
+     *
+     * @param index Slot index.
+     */
+    void replenishStamina(int index) {
+        setStamina(index, Math.min(getStamina(index) + 20, 100));
+    }
+
+    /**
+     * Increases the number of years of teaching of the employee at the given slot.
+     *
+     * @param index Slot index.
+     */
+    void increaseYearsOfTeaching(int index) {
+        setYearsOfTeaching(index, getYearsOfTeaching(index) + 1);
+    }
+}
@@ -3,26 +3,47 @@ package university;
 import facilities.Facility;
 import facilities.buildings.Building;
 import facilities.buildings.BuildingAbstract;
-
-import java.util.Iterator;
-import java.util.Random;
+import facilities.buildings.BuildingType;
+import facilities.buildings.SusuLeague;
+
+import simulation.CheckpointInput;
+import simulation.CheckpointOutput;
+import simulation.EventSink;
+import simulation.SimulationRandom;
+import simulation.TextEventSink;
 /**
  * Represents a university with facilities, budget, staff and human resources.
  */
 public class University {
-    private float budget;
+    private final Ledger ledger;
     private final Estate estate;
     private int reputation;
     private final HumanResource humanResource;
+    private final SimulationRandom random;
+    private final EventSink events;
     /**
      * Constructs a new University object with the specified initial funding.
      *
      * @param funding The initial budget for the university.
      */
     public University(int funding) {
-        this.budget = funding;
-        estate = new Estate();
-        humanResource = new HumanResource();
+        this(funding, new SimulationRandom(), TextEventSink.console());
+    }
+
+    /**
+     * Constructs a new University object with the specified initial funding. The estate and human resources
+     * get their own streams split from the given random stream.
+     *
+     * @param funding The initial budget for the university.
+     * @param random  The random stream of the university.
+     * @param events  The sink receiving the events of the university.
+     */
+    public University(int funding, SimulationRandom random, EventSink events) {
+        this.ledger = new Ledger((long) funding * Ledger.CENTS);
+        this.random = random;
+        this.events = events;
+        estate = new Estate(random.split(), events);
+        humanResource = new HumanResource(random.split(), events);
     }
     /**
      * Builds a new facility of the specified type and name.
@@ -32,16 +53,30 @@ public class University {
      * @return The built Facility object if successful, or null if the budget is insufficient.
      */
     public Facility build(String type, String name) {
-        Facility newFacility = estate.addFacility(type, name);
-        if (newFacility == null) {
+        BuildingType buildingType = BuildingType.parse(type);
+        if (buildingType == null) {
             return null;
         }
-        if (budget > ((BuildingAbstract) newFacility).getBaseBuildingCost()) {
-            budget -= ((BuildingAbstract) newFacility).getBaseBuildingCost();
+        return build(buildingType, name);
+    }
+
+    /**
+     * Builds a new facility of the specified type and name.
+     *
+     * @param type The type of the facility to be built.
+     * @param name The name of the facility to be built.
+     * @return The built Facility object if successful, or null if the budget is insufficient.
+     */
+    public Facility build(BuildingType type, String name) {
+        Facility newFacility = estate.addFacility(type, name);
+        long cost = (long) ((BuildingAbstract) newFacility).getBaseBuildingCost() * Ledger.CENTS;
+        if (ledger.getAvailable() > cost) {
+            ledger.post(LedgerCategory.BUILDING, -cost);
             reputation += 100;
-            System.out.println("Building of type: " + type + " name: " + name + " has been built");
+            events.facilityBuilt(type.getLabel(), name);
             return newFacility;
         } else {
+            events.facilityAddedUnpaid(type.getLabel(), name);
             return null;
         }
     }
@@ -53,24 +88,16 @@ public class University {
      * @throws Exception If the budget is too low to perform the upgrade or if the building is not part of the estate.
      */
     public void upgrade(Building building) throws Exception {
-        boolean buildingFound = false;
-        for (Facility facility : estate.getFacilities()) {
-            if (building.getName().equals(facility.getName())) {
-                int cost = building.getUpgradeCost();
-                if (budget >= cost && cost > 0) {
-                    upgrade(building, cost);
-                } else {
-                    throw new Exception("Budget is too low to build");
-                }
-                buildingFound = true;
-                break;
-            }
+        if (!estate.hasFacility(building)) {
+            throw new Exception("This building " + building.getName() + " is not a part of the estate");
+        }
+        int cost = building.getUpgradeCost();
+        if (ledger.getAvailable() >= (long) cost * Ledger.CENTS && cost > 0) {
+            upgrade(building, cost);
+        } else {
+            throw new Exception("Budget is too low to build");
         }
-
-    if (!buildingFound) {
-        throw new Exception("This building " + building.getName() + " is not a part of the estate");
     }
-}
 
 
 
@@ -81,23 +108,19 @@ public class University {
      * @param cost The cost of the upgrade.
      */
     private void upgrade(Building building, int cost)  {
-        budget -= cost;
+        ledger.post(LedgerCategory.UPGRADE, -(long) cost * Ledger.CENTS);
         building.increaseLevel();
             reputation += 50;
-            System.out.println(
-                    building.getName()
-                            + " has been upgraded to: "
-                            + building.getLevel()
-                            + " and reputation has increased to: "
-                            + reputation);
+            events.facilityUpgraded(building.getType(), building.getName(), building.getLevel(), reputation);
 
     }
     /**
      * Performs the start-of-year actions, updating the budget based on the number of students and printing the student count.
      */
     private void startOfYear(){
-        budget += estate.getNumberOfStudents() * 10;
-        System.out.println("The university has " + estate.getNumberOfStudents() + " students");
+        int numberOfStudents = estate.getNumberOfStudents();
+        ledger.post(LedgerCategory.INCOME, tuition(numberOfStudents));
+        events.studentsEnrolled(numberOfStudents);
     }
 
 
@@ -109,24 +132,14 @@ public class University {
      */
     private void staffStudentRatio() throws Exception {
         int maxNumberStudentsEachStaff = 20;
-        int totalInstructedStudents = 0;
-
-        Iterator<Staff> staffIterator = humanResource.getStaff();
-        while (staffIterator.hasNext() && totalInstructedStudents < estate.getNumberOfStudents()) {
-            Staff staff = staffIterator.next();
-
-            // Calculate the number of students this staff member can instruct
-            int studentsToInstruct = Math.min(maxNumberStudentsEachStaff, estate.getNumberOfStudents() - totalInstructedStudents);
+        int numberOfStudents = estate.getNumberOfStudents();
 
-            // Instruct the students and update the total
-            totalInstructedStudents += studentsToInstruct;
-            reputation += staff.instruct(studentsToInstruct);
-
-        }
-        System.out.println("Total number of students being instructed: " + totalInstructedStudents);
-        int uninstructedStudents = estate.getNumberOfStudents() - totalInstructedStudents;
+        // Each staff member instructs up to the maximum until every student has been instructed
+        int totalInstructedStudents = (int) Math.min(numberOfStudents, (long) humanResource.getStaffSize() * maxNumberStudentsEachStaff);
+        reputation += humanResource.instruct(numberOfStudents, maxNumberStudentsEachStaff);
+        int uninstructedStudents = numberOfStudents - totalInstructedStudents;
+        events.studentsInstructed(totalInstructedStudents, uninstructedStudents);
         if (uninstructedStudents > 0) {
-            System.out.println("Number of uninstructed students: " + uninstructedStudents);
             reputation -= uninstructedStudents;
         }
     }
@@ -146,42 +159,63 @@ public class University {
     /**
      * Conducts end-of-year activities for the university, including staff updates, budget adjustments,
      * and reporting on maintenance cost, number of buildings, budget, and reputation.
+     * Ageing, retirement, attrition and stamina replenishment are done in a single pass over the staff,
+     * so the cost of the year grows linearly with the number of staff. The salaries and maintenance are
+     * posted to the ledger, which then commits the whole year in one transaction.
      */
     private void endOfYear(){
-        System.out.println("Total staff salary: " + humanResource.getTotalSalary());
-        budget = budget - estate.getMaintenanceCost() - humanResource.getTotalSalary();
-        for (Iterator<Staff> it = humanResource.getStaff(); it.hasNext(); ) {
-            Staff staff = it.next(); //go through hashmap
+        long totalSalary = humanResource.getTotalSalaryCents();
+        ledger.post(LedgerCategory.SALARY, -totalSalary);
+        ledger.post(LedgerCategory.MAINTENANCE, -estate.getMaintenanceCostCents());
+        ledger.commit();
+        for (StaffCursor staff = humanResource.cursor(); staff.next(); ) { //go through the roster
 
             staff.increaseYearsOfTeaching();
 
             if (staff.getYearsOfTeaching() > 30) {
-                System.out.println(staff.getName() + "left due to 30 years of teaching");
-                it.remove();
+                events.staffRetired(staff.getName());
+                staff.remove();
                 continue;
             }
             //staff leaving due to stamina is due to chance e.g. 40 stamina = 40% chance leaving
             //chance of leaving based on stamina
             double chanceOfLeaving = (double) staff.getStamina() / 100;
-            Random random = new Random();
             double randomValue = random.nextDouble();
 
             if ((randomValue > chanceOfLeaving && humanResource.getStaffSize() > 1) || staff.getStamina() < 0) {
-                System.out.println(staff.getName() + "has left due to low stamina of: " + staff.getStamina());
-                it.remove(); //remove the staff from the list
+                events.staffLeft(staff.getName(), staff.getStamina());
+                staff.remove(); //remove the staff from the list
             } else {
-                humanResource.replenishStamina(humanResource.staffSalary);
+                staff.replenishStamina();
                 //System.out.println(staff.getName() + "has had their stamina replenished to: " + staff.getStamina());
             }
 
         }
 
 
-        System.out.println("Total maintenance cost: " + estate.getMaintenanceCost());
-        System.out.println("Number of buildings: " + estate.getFacilities().length);
-        System.out.println("End of year budget is: " + budget);
-        System.out.println("End of Year reputation: " + reputation);
+        events.yearEnded((float) Ledger.toCoins(totalSalary), estate.getMaintenanceCost(),
+                estate.getNumberOfFacilities(), ledger.getAvailable(), reputation);
     }
+    /**
+     * Adds the effect of a season of the SUSU clubs to the budget and reputation.
+     *
+     * @param season The result of the season.
+     */
+    public void addClubSeason(SusuLeague.SeasonResult season) {
+        ledger.post(LedgerCategory.SUSU, (long) season.getBudgetChange() * Ledger.CENTS);
+        reputation += season.getReputationChange();
+    }
+
+    /**
+     * Works out the tuition paid by the students of a year, 10 coins each.
+     *
+     * @param numberOfStudents The number of students.
+     * @return The tuition in cents.
+     */
+    private static long tuition(int numberOfStudents) {
+        return (long) numberOfStudents * 10 * Ledger.CENTS;
+    }
+
     /**
      * Initiates the end-of-year activities for the university.
      */
@@ -205,6 +239,32 @@ public class University {
         duringYear();
     }
 
+    /**
+     * Writes the whole state of the university: ledger, reputation, random stream, estate and staff.
+     *
+     * @param out The checkpoint to write to.
+     */
+    public void writeState(CheckpointOutput out) {
+        ledger.writeState(out);
+        out.putInt(reputation);
+        random.writeState(out);
+        estate.writeState(out);
+        humanResource.writeState(out);
+    }
+
+    /**
+     * Restores the state written by {@link #writeState(CheckpointOutput)} into this new university.
+     *
+     * @param in The checkpoint to read from.
+     */
+    public void readState(CheckpointInput in) {
+        ledger.readState(in);
+        reputation = in.getInt();
+        random.readState(in);
+        estate.readState(in);
+        humanResource.readState(in);
+    }
+
     /**
      * Retrieves the estate (facilities) of the university.
      *
@@ -214,6 +274,15 @@ public class University {
         return estate;
     }
 
+    /**
+     * Chooses where the records of the staff are kept, see {@link HumanResource#setStorage(RosterStorage)}.
+     *
+     * @param storage Where to keep the staff records.
+     */
+    public void setRosterStorage(RosterStorage storage) {
+        humanResource.setStorage(storage);
+    }
+
     /**
      * Adds a staff member to the human resource of the university.
      *
@@ -224,12 +293,31 @@ public class University {
     }
 
     /**
-     * Retrieves the current budget of the university.
+     * Retrieves the current budget of the university, exactly.
      *
-     * @return The budget of the university.
+     * @return The budget of the university in cents.
+     */
+    public long getBudgetCents() {
+        return ledger.getAvailable();
+    }
+
+    /**
+     * Retrieves the current budget of the university as a float, for display. A float loses whole
+     * coins beyond about 16.7 million, so decisions and records use {@link #getBudgetCents()}.
+     *
+     * @return The budget of the university in coins.
      */
     public float getBudget() {
-        return budget;
+        return (float) Ledger.toCoins(ledger.getAvailable());
+    }
+
+    /**
+     * Retrieves the ledger of the budget, with the totals of every category of the last year.
+     *
+     * @return The ledger of the university.
+     */
+    public Ledger getLedger() {
+        return ledger;
     }
 
     /**
@@ -241,6 +329,15 @@ public class University {
         return humanResource.getTotalSalary();
     }
 
+    /**
+     * Retrieves the total salary expense for the university's staff, exactly.
+     *
+     * @return The total salary expense in cents.
+     */
+    public long getTotalSalaryCents() {
+        return humanResource.getTotalSalaryCents();
+    }
+
     /**
      * Retrieves the number of staff members in the university.
      *
@@ -259,6 +356,24 @@ public class University {
         return reputation;
     }
 
+    /**
+     * Gets the total salary paid to the staff at the end of the last year.
+     *
+     * @return The salary paid, or 0 before the first year has ended.
+     */
+    public float getSalaryPaid() {
+        return (float) Ledger.toCoins(-ledger.getCommitted(LedgerCategory.SALARY));
+    }
+
+    /**
+     * Gets the maintenance cost paid for the estate at the end of the last year.
+     *
+     * @return The maintenance cost paid, or 0 before the first year has ended.
+     */
+    public float getMaintenancePaid() {
+        return (float) Ledger.toCoins(-ledger.getCommitted(LedgerCategory.MAINTENANCE));
+    }
+
 
 
 }
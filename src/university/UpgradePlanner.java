@@ -0,0 +1,154 @@
+package university;
+
+import facilities.buildings.BuildingAbstract;
+import facilities.buildings.BuildingType;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the upgradable buildings of an estate in one indexed binary heap per building type, ordered
+ * by the cost of their next upgrade, cheapest first. Buildings are identified by their position in
+ * the estate. Adding a building or raising its level updates the heaps in O(log n), and the cheapest
+ * upgrade of a type is found in O(1). Buildings at their maximum level leave the heaps.
+ *
+ * <p>Cheapest first, rather than most capacity per coin: within a type the capacity gained per coin
+ * rises with the level, so that order would always offer the most expensive upgrade, and an
+ * affordable upgrade of a lower building would be missed whenever the top one is out of reach.
+ */
+class UpgradePlanner {
+    private final int[][] heaps = new int[BuildingType.values().length][16];
+    private final int[] sizes = new int[BuildingType.values().length];
+    private BuildingAbstract[] buildings = new BuildingAbstract[16];
+    private int[] positions = new int[16];
+
+    /**
+     * Adds a building of the estate. It is only queued if it can still be upgraded.
+     *
+     * @param id       The position of the building in the estate.
+     * @param building The building.
+     */
+    void add(int id, BuildingAbstract building) {
+        if (id >= buildings.length) {
+            int capacity = Math.max(buildings.length * 2, id + 1);
+            buildings = Arrays.copyOf(buildings, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+        }
+        buildings[id] = building;
+        positions[id] = -1;
+        if (building.getUpgradeCost() == -1) {
+            return;
+        }
+        int type = building.getBuildingType().ordinal();
+        if (sizes[type] == heaps[type].length) {
+            heaps[type] = Arrays.copyOf(heaps[type], sizes[type] * 2);
+        }
+        int position = sizes[type]++;
+        heaps[type][position] = id;
+        positions[id] = position;
+        siftUp(type, position);
+    }
+
+    /**
+     * Updates the queue after the level of a building was raised. A higher level only ever makes the
+     * next upgrade dearer, so the building moves towards the bottom, or leaves the queue once it has
+     * reached its maximum level.
+     *
+     * @param id The position of the building in the estate.
+     */
+    void levelIncreased(int id) {
+        int position = positions[id];
+        if (position < 0) {
+            return;
+        }
+        int type = buildings[id].getBuildingType().ordinal();
+        if (buildings[id].getUpgradeCost() != -1) {
+            siftDown(type, position);
+            return;
+        }
+        positions[id] = -1;
+        int last = --sizes[type];
+        if (position != last) {
+            heaps[type][position] = heaps[type][last];
+            positions[heaps[type][position]] = position;
+            siftDown(type, position);
+            siftUp(type, position);
+        }
+    }
+
+    /**
+     * Gets the upgradable building of a type whose next upgrade is the cheapest. Of equally cheap
+     * buildings, the one added to the estate first is chosen.
+     *
+     * @param type The type of building.
+     * @return The cheapest building to upgrade, or null if no building of that type can be upgraded.
+     */
+    BuildingAbstract best(BuildingType type) {
+        int index = type.ordinal();
+        return sizes[index] == 0 ? null : buildings[heaps[index][0]];
+    }
+
+    /**
+     * Checks whether one building should be upgraded before another: the one with the cheaper next
+     * upgrade, or the one added to the estate first.
+     *
+     * @param a The id of the first building.
+     * @param b The id of the second building.
+     * @return True if the first building should be upgraded before the second.
+     */
+    private boolean before(int a, int b) {
+        int firstCost = buildings[a].getUpgradeCost();
+        int secondCost = buildings[b].getUpgradeCost();
+        return firstCost != secondCost ? firstCost < secondCost : a < b;
+    }
+
+    /**
+     * Moves a queued building up until its parent should be upgraded before it.
+     *
+     * @param type     The ordinal of the building type.
+     * @param position The position of the building in the heap.
+     */
+    private void siftUp(int type, int position) {
+        int[] heap = heaps[type];
+        int id = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(id, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    /**
+     * Moves a queued building down until it should be upgraded before its children.
+     *
+     * @param type     The ordinal of the building type.
+     * @param position The position of the building in the heap.
+     */
+    private void siftDown(int type, int position) {
+        int[] heap = heaps[type];
+        int size = sizes[type];
+        int id = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], id)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
@@ -0,0 +1,123 @@
+package university;
+
+import facilities.buildings.BuildingType;
+import facilities.buildings.SusuLeague;
+import simulation.ColumnarWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Streams the state of a university at the end of every year to a columnar file, one row per year.
+ * The file can be loaded with {@link simulation.ColumnarReader}. Money is written exactly, as long
+ * columns of cents whose names end in "Cents".
+ */
+public class YearSeriesWriter implements Closeable {
+    /** The most SUSU clubs an estate can have, and so the number of league columns. */
+    public static final int MAX_CLUBS = 5;
+    private static final BuildingType[] BUILDING_TYPES = BuildingType.values();
+
+    private static final int YEAR = 0;
+    private static final int BUDGET = 1;
+    private static final int REPUTATION = 2;
+    private static final int STUDENTS = 3;
+    private static final int STAFF = 4;
+    private static final int SALARY = 5;
+    private static final int MAINTENANCE = 6;
+    private static final int INCOME = 7;
+    private static final int BUILDING = 8;
+    private static final int UPGRADE = 9;
+    private static final int SUSU = 10;
+    private static final int BUILDINGS = 11;
+    private static final int LEAGUES = BUILDINGS + BUILDING_TYPES.length * 2;
+    private static final int COLUMNS = LEAGUES + MAX_CLUBS;
+
+    private final ColumnarWriter writer;
+
+    /**
+     * Creates the file and writes its header.
+     *
+     * @param path     The file to write.
+     * @param compress Whether the blocks of the file should be deflated.
+     * @throws IOException If the file cannot be created.
+     */
+    public YearSeriesWriter(Path path, boolean compress) throws IOException {
+        String[] names = new String[COLUMNS];
+        ColumnarWriter.Type[] types = new ColumnarWriter.Type[COLUMNS];
+        Arrays.fill(types, ColumnarWriter.Type.INT);
+        names[YEAR] = "year";
+        names[BUDGET] = "budgetCents";
+        names[REPUTATION] = "reputation";
+        names[STUDENTS] = "students";
+        names[STAFF] = "staff";
+        names[SALARY] = "salaryCents";
+        names[MAINTENANCE] = "maintenanceCents";
+        names[INCOME] = "incomeCents";
+        names[BUILDING] = "buildingCents";
+        names[UPGRADE] = "upgradeCents";
+        names[SUSU] = "susuCents";
+        types[BUDGET] = ColumnarWriter.Type.LONG;
+        types[SALARY] = ColumnarWriter.Type.LONG;
+        types[MAINTENANCE] = ColumnarWriter.Type.LONG;
+        types[INCOME] = ColumnarWriter.Type.LONG;
+        types[BUILDING] = ColumnarWriter.Type.LONG;
+        types[UPGRADE] = ColumnarWriter.Type.LONG;
+        types[SUSU] = ColumnarWriter.Type.LONG;
+        for (int i = 0; i < BUILDING_TYPES.length; i++) {
+            String type = BUILDING_TYPES[i].getLabel().toLowerCase();
+            names[BUILDINGS + i * 2] = type + "Count";
+            names[BUILDINGS + i * 2 + 1] = type + "Levels";
+        }
+        for (int i = 0; i < MAX_CLUBS; i++) {
+            names[LEAGUES + i] = "club" + (i + 1) + "League";
+        }
+        writer = new ColumnarWriter(path, names, types, compress);
+    }
+
+    /**
+     * Appends the state of the university at the end of a year. Apart from the budget, the money
+     * columns are the totals of each ledger category for the year, debits negative except for
+     * salary and maintenance, which are the amounts paid. Clubs that have not been built have
+     * league 0.
+     *
+     * @param year       The number of the year that has just ended.
+     * @param university The university.
+     * @throws IOException If a full block cannot be written.
+     */
+    public void record(int year, University university) throws IOException {
+        Estate estate = university.getEstate();
+        writer.setInt(YEAR, year);
+        writer.setLong(BUDGET, university.getBudgetCents());
+        writer.setInt(REPUTATION, university.getReputation());
+        writer.setInt(STUDENTS, estate.getNumberOfStudents());
+        writer.setInt(STAFF, university.getNumberOfStaff());
+        Ledger ledger = university.getLedger();
+        writer.setLong(SALARY, -ledger.getCommitted(LedgerCategory.SALARY));
+        writer.setLong(MAINTENANCE, -ledger.getCommitted(LedgerCategory.MAINTENANCE));
+        writer.setLong(INCOME, ledger.getCommitted(LedgerCategory.INCOME));
+        writer.setLong(BUILDING, ledger.getCommitted(LedgerCategory.BUILDING));
+        writer.setLong(UPGRADE, ledger.getCommitted(LedgerCategory.UPGRADE));
+        writer.setLong(SUSU, ledger.getCommitted(LedgerCategory.SUSU));
+        for (int i = 0; i < BUILDING_TYPES.length; i++) {
+            writer.setInt(BUILDINGS + i * 2, estate.getNumberOfBuildings(BUILDING_TYPES[i]));
+            writer.setInt(BUILDINGS + i * 2 + 1, estate.getLevelSum(BUILDING_TYPES[i]));
+        }
+        SusuLeague clubs = estate.getSusuLeague();
+        for (int i = 0; i < MAX_CLUBS; i++) {
+            writer.setInt(LEAGUES + i, i < clubs.size() ? clubs.getLeague(i) : 0);
+        }
+        writer.endRow();
+    }
+
+    /**
+     * Writes the remaining rows and closes the file.
+     *
+     * @throws IOException If the rows cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}